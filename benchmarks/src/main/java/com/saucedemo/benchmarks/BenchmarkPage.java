@@ -0,0 +1,48 @@
+package com.saucedemo.benchmarks;
+
+import com.saucedemo.pages.BasePage;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+/**
+ * BenchmarkPage exposes the protected {@link BasePage} helpers to the benchmarks.
+ */
+public class BenchmarkPage extends BasePage {
+
+    /**
+     * Wait for an element to be visible, using the element cache
+     *
+     * @param locator the element locator
+     * @return the element
+     */
+    public WebElement visible(By locator) {
+        return waitForElementVisible(locator);
+    }
+
+    /**
+     * Resolve the first of several elements that is visible
+     *
+     * @param locators candidate element locators
+     * @return the locator that matched
+     */
+    public By firstVisible(By... locators) {
+        return waitForFirstVisible(locators);
+    }
+
+    /**
+     * Check presence without waiting
+     *
+     * @param locator the element locator
+     * @return true if the element is displayed now
+     */
+    public boolean presentNow(By locator) {
+        return isElementPresentNow(locator);
+    }
+
+    /**
+     * Drop all cached elements so the next lookup goes to the driver
+     */
+    public void clearCache() {
+        elementCache.clear();
+    }
+}
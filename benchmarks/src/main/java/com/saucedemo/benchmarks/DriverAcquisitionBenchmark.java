@@ -0,0 +1,62 @@
+package com.saucedemo.benchmarks;
+
+import com.saucedemo.config.DriverManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@code DriverManager.getDriver()} followed by {@code quitDriver()}: borrow
+ * from the pool, session reset and release, with and without contention for the
+ * pool's permits. Uses fake drivers, so no browser time is included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dlog.level=WARN"})
+public class DriverAcquisitionBenchmark {
+
+    @Param({"1", "4", "8"})
+    public int poolSize;
+
+    /**
+     * Size the pool before it is created
+     *
+     * @param fakeDrivers installs the fake driver factory
+     */
+    @Setup(Level.Trial)
+    public void setUp(FakeDrivers fakeDrivers) {
+        System.setProperty("driver.pool.size", String.valueOf(poolSize));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public WebDriver acquireAndReleaseUncontended() {
+        WebDriver driver = DriverManager.getDriver();
+        DriverManager.quitDriver();
+        return driver;
+    }
+
+    @Benchmark
+    @Threads(8)
+    public WebDriver acquireAndReleaseEightThreads() {
+        WebDriver driver = DriverManager.getDriver();
+        DriverManager.quitDriver();
+        return driver;
+    }
+}
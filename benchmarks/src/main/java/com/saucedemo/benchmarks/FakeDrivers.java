@@ -0,0 +1,23 @@
+package com.saucedemo.benchmarks;
+
+import com.saucedemo.config.DriverManager;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * FakeDrivers makes {@link DriverManager} hand out {@link FakeWebDriver}s.
+ * Benchmarks take it as a setup parameter so it is installed before the pool is created.
+ */
+@State(Scope.Benchmark)
+public class FakeDrivers {
+
+    /**
+     * Install the fake driver factory once per trial
+     */
+    @Setup(Level.Trial)
+    public void install() {
+        DriverManager.setDriverFactory(FakeWebDriver::new);
+    }
+}
@@ -0,0 +1,151 @@
+package com.saucedemo.benchmarks;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FakeElement is an in-memory element of a {@link FakeWebDriver} page. It keeps a
+ * value for inputs, a text, attributes and an optional click action.
+ */
+public class FakeElement implements WebElement {
+
+    private final String tagName;
+    private final String text;
+    private final Map<String, String> attributes = new HashMap<>();
+    private final Runnable onClick;
+    private StringBuilder value = new StringBuilder();
+
+    /**
+     * Constructor
+     *
+     * @param tagName element tag name
+     * @param text    visible text
+     * @param onClick action run on click, may be null
+     */
+    public FakeElement(String tagName, String text, Runnable onClick) {
+        this.tagName = tagName;
+        this.text = text;
+        this.onClick = onClick;
+    }
+
+    /**
+     * Set the value of an input, as typed by a script
+     *
+     * @param newValue the value
+     */
+    void setValue(String newValue) {
+        value = new StringBuilder(newValue);
+    }
+
+    /**
+     * @return current input value
+     */
+    String getValue() {
+        return value.toString();
+    }
+
+    @Override
+    public void click() {
+        if (onClick != null) {
+            onClick.run();
+        }
+    }
+
+    @Override
+    public void submit() {
+        click();
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        for (CharSequence keys : keysToSend) {
+            value.append(keys);
+        }
+    }
+
+    @Override
+    public void clear() {
+        value.setLength(0);
+    }
+
+    @Override
+    public String getTagName() {
+        return tagName;
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        return "value".equals(name) ? getValue() : attributes.get(name);
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        return getAttribute(name);
+    }
+
+    @Override
+    public boolean isSelected() {
+        return false;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        throw new NoSuchElementException("Fake elements have no children: " + by);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return true;
+    }
+
+    @Override
+    public Point getLocation() {
+        return new Point(0, 0);
+    }
+
+    @Override
+    public Dimension getSize() {
+        return new Dimension(100, 20);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return new Rectangle(0, 0, 20, 100);
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return "";
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        throw new UnsupportedCommandException("Fake elements cannot take screenshots");
+    }
+}
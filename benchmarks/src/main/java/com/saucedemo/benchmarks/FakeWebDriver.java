@@ -0,0 +1,297 @@
+package com.saucedemo.benchmarks;
+
+import com.saucedemo.server.SauceDemoStubServer;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * FakeWebDriver is an in-memory WebDriver emulating the SauceDemo login and
+ * inventory pages with the locators {@code LoginPage} uses. Every command returns
+ * immediately, so benchmarks against it measure the framework alone. Credentials
+ * are checked like the stub server does; the batched login script is emulated.
+ */
+public class FakeWebDriver implements WebDriver, JavascriptExecutor {
+
+    private static final String SESSION_COOKIE = "session-username";
+    private static final By USERNAME_INPUT = By.id("user-name");
+    private static final By PASSWORD_INPUT = By.id("password");
+    private static final By LOGIN_BUTTON = By.id("login-button");
+    private static final By ERROR_MESSAGE = By.xpath("//div[@class='error-message-container']//h3");
+    private static final By PAGE_TITLE = By.xpath("//div[@class='login_logo']");
+    private static final By INVENTORY_CONTAINER = By.className("inventory_container");
+    private static final By PRODUCTS_TITLE = By.xpath("//span[@class='title'][contains(text(), 'Products')]");
+
+    private final Map<String, Cookie> cookies = new HashMap<>();
+    private Map<String, FakeElement> page = new HashMap<>();
+    private String currentUrl = "about:blank";
+    private boolean quit;
+
+    @Override
+    public void get(String url) {
+        checkSession();
+        currentUrl = url;
+        if (url.startsWith("about:")) {
+            page = new HashMap<>();
+        } else if (url.endsWith("inventory.html") && cookies.containsKey(SESSION_COOKIE)) {
+            showInventoryPage();
+        } else {
+            showLoginPage();
+        }
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        checkSession();
+        return currentUrl;
+    }
+
+    @Override
+    public String getTitle() {
+        checkSession();
+        return currentUrl.startsWith("about:") ? "" : "Swag Labs";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        checkSession();
+        FakeElement element = page.get(key(by));
+        return element == null ? new ArrayList<>() : new ArrayList<>(Collections.singletonList(element));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        checkSession();
+        FakeElement element = page.get(key(by));
+        if (element == null) {
+            throw new NoSuchElementException("Unable to locate element: " + by);
+        }
+        return element;
+    }
+
+    @Override
+    public String getPageSource() {
+        checkSession();
+        return "<html><body>" + page.keySet() + "</body></html>";
+    }
+
+    @Override
+    public void close() {
+        quit();
+    }
+
+    @Override
+    public void quit() {
+        quit = true;
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return new HashSet<>(Collections.singletonList(getWindowHandle()));
+    }
+
+    @Override
+    public String getWindowHandle() {
+        checkSession();
+        return "fake-window";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        return stub(TargetLocator.class);
+    }
+
+    @Override
+    public Navigation navigate() {
+        return new FakeNavigation();
+    }
+
+    @Override
+    public Options manage() {
+        return (Options) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Options.class},
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return objectMethod(proxy, method.getName(), args);
+                    }
+                    switch (method.getName()) {
+                        case "addCookie":
+                            Cookie cookie = (Cookie) args[0];
+                            cookies.put(cookie.getName(), cookie);
+                            return null;
+                        case "deleteAllCookies":
+                            cookies.clear();
+                            return null;
+                        case "getCookies":
+                            return new HashSet<>(cookies.values());
+                        case "getCookieNamed":
+                            return cookies.get(String.valueOf(args[0]));
+                        case "deleteCookieNamed":
+                            cookies.remove(String.valueOf(args[0]));
+                            return null;
+                        case "timeouts":
+                            return stub(Timeouts.class);
+                        case "window":
+                            return stub(Window.class);
+                        default:
+                            throw new UnsupportedCommandException("Not supported by the fake driver: " + method.getName());
+                    }
+                });
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        checkSession();
+        if (args.length == 2 && args[0] instanceof List && args[1] instanceof List) {
+            return fillAndClick((List<?>) args[0], (List<?>) args[1]);
+        }
+        return null;
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        checkSession();
+        return Boolean.TRUE;
+    }
+
+    /**
+     * Emulate the batched login script: fill every field, then click the button
+     *
+     * @return index of the first missing element, or -1
+     */
+    private Long fillAndClick(List<?> fields, List<?> button) {
+        for (int i = 0; i < fields.size(); i++) {
+            List<?> field = (List<?>) fields.get(i);
+            FakeElement element = page.get(field.get(0) + ":" + field.get(1));
+            if (element == null) {
+                return (long) i;
+            }
+            element.setValue(String.valueOf(field.get(2)));
+        }
+        FakeElement target = page.get(button.get(0) + ":" + button.get(1));
+        if (target == null) {
+            return (long) fields.size();
+        }
+        target.click();
+        return -1L;
+    }
+
+    private void showLoginPage() {
+        page = new HashMap<>();
+        page.put(key(PAGE_TITLE), new FakeElement("div", "Swag Labs", null));
+        page.put(key(USERNAME_INPUT), new FakeElement("input", "", null));
+        page.put(key(PASSWORD_INPUT), new FakeElement("input", "", null));
+        page.put(key(LOGIN_BUTTON), new FakeElement("input", "", this::submitLogin));
+    }
+
+    private void showInventoryPage() {
+        page = new HashMap<>();
+        page.put(key(PRODUCTS_TITLE), new FakeElement("span", "Products", null));
+        page.put(key(INVENTORY_CONTAINER), new FakeElement("div", "", null));
+    }
+
+    private void submitLogin() {
+        String username = page.get(key(USERNAME_INPUT)).getValue();
+        String error = SauceDemoStubServer.authenticate(username, page.get(key(PASSWORD_INPUT)).getValue());
+        if (error == null) {
+            cookies.put(SESSION_COOKIE, new Cookie(SESSION_COOKIE, username));
+            currentUrl = URI.create(currentUrl).resolve("inventory.html").toString();
+            showInventoryPage();
+        } else {
+            page.put(key(ERROR_MESSAGE), new FakeElement("h3", error, null));
+        }
+    }
+
+    private void checkSession() {
+        if (quit) {
+            throw new NoSuchSessionException("Fake session has been quit");
+        }
+    }
+
+    /**
+     * Key an element the way in-browser scripts address it, {@code using:value}
+     */
+    private static String key(By by) {
+        By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+        return parameters.using() + ":" + parameters.value();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type) {
+        return (T) Proxy.newProxyInstance(FakeWebDriver.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return objectMethod(proxy, method.getName(), args);
+                    }
+                    Class<?> returnType = method.getReturnType();
+                    if (returnType.isInstance(proxy)) {
+                        return proxy;
+                    }
+                    if (returnType == Duration.class) {
+                        return Duration.ZERO;
+                    }
+                    if (returnType == boolean.class) {
+                        return false;
+                    }
+                    return null;
+                });
+    }
+
+    private static Object objectMethod(Object proxy, String name, Object[] args) {
+        switch (name) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                return "FakeWebDriver stub";
+        }
+    }
+
+    /**
+     * Navigation of the fake driver
+     */
+    private class FakeNavigation implements Navigation {
+
+        @Override
+        public void back() {
+            get(currentUrl);
+        }
+
+        @Override
+        public void forward() {
+            get(currentUrl);
+        }
+
+        @Override
+        public void to(String url) {
+            get(url);
+        }
+
+        @Override
+        public void to(URL url) {
+            get(url.toString());
+        }
+
+        @Override
+        public void refresh() {
+            get(currentUrl);
+        }
+    }
+}
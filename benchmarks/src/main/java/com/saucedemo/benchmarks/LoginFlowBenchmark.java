@@ -0,0 +1,69 @@
+package com.saucedemo.benchmarks;
+
+import com.saucedemo.config.DriverManager;
+import com.saucedemo.pages.LoginPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The full login flow: open the login page, log in and resolve the outcome.
+ * {@code fake} runs against {@link FakeWebDriver} and measures the framework alone;
+ * {@code browser} runs headless Chrome against the in-process stub server, so the
+ * difference between both is browser and protocol time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dlog.level=WARN", "-Dsaucedemo.target=local", "-Dbrowser.profile=lean"})
+public class LoginFlowBenchmark {
+
+    @Param({"fake", "browser"})
+    public String target;
+
+    @Param({"stepwise", "batched"})
+    public String mode;
+
+    private LoginPage loginPage;
+
+    /**
+     * Select the driver and interaction mode
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("fake".equals(target)) {
+            DriverManager.setDriverFactory(FakeWebDriver::new);
+        }
+        System.setProperty("interaction.mode", mode);
+        loginPage = new LoginPage();
+    }
+
+    /**
+     * Release the driver
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DriverManager.quitDriver();
+    }
+
+    @Benchmark
+    public LoginPage.LoginOutcome login() {
+        loginPage.openLoginPage();
+        loginPage.login("standard_user", "secret_sauce");
+        return loginPage.getLoginOutcome();
+    }
+}
@@ -0,0 +1,72 @@
+package com.saucedemo.benchmarks;
+
+import com.saucedemo.config.DriverManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Framework cost of a wait that is already satisfied, per wait strategy: the
+ * time {@code WaitEngine} adds on top of the driver calls it makes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dlog.level=WARN"})
+public class WaitResolutionBenchmark {
+
+    private static final By USERNAME_INPUT = By.id("user-name");
+    private static final By PRODUCTS_TITLE = By.xpath("//span[@class='title'][contains(text(), 'Products')]");
+
+    @Param({"legacy", "adaptive", "observer"})
+    public String strategy;
+
+    private BenchmarkPage page;
+
+    /**
+     * Select the wait strategy and open the fake login page
+     *
+     * @param fakeDrivers installs the fake driver factory
+     */
+    @Setup(Level.Trial)
+    public void setUp(FakeDrivers fakeDrivers) {
+        System.setProperty("wait.strategy", strategy);
+        page = new BenchmarkPage();
+        page.navigateTo("https://www.saucedemo.com/");
+    }
+
+    /**
+     * Release the driver
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DriverManager.quitDriver();
+    }
+
+    @Benchmark
+    public WebElement visibleWait() {
+        page.clearCache();
+        return page.visible(USERNAME_INPUT);
+    }
+
+    @Benchmark
+    public By firstVisibleWait() {
+        return page.firstVisible(PRODUCTS_TITLE, USERNAME_INPUT);
+    }
+}
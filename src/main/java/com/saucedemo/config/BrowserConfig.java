@@ -0,0 +1,225 @@
+package com.saucedemo.config;
+
+import com.saucedemo.server.SauceDemoStubServer;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.logging.Level;
+
+/**
+ * BrowserConfig provides test run configuration and builds browser options.
+ * Values are looked up in system properties first, then in the file named by
+ * {@code -Dbrowser.config}, then in {@code browser.properties} on the classpath.
+ * A browser profile ({@code browser.profile}) supplies defaults for the
+ * individual browser settings, which can still be overridden one by one.
+ */
+public class BrowserConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(BrowserConfig.class);
+    private static final String CLASSPATH_CONFIG = "browser.properties";
+    private static final String PUBLIC_BASE_URL = "https://www.saucedemo.com/";
+    private static final Properties fileProperties = loadFileProperties();
+
+    /**
+     * Browser profiles with their default settings
+     */
+    public enum Profile {
+        /** Headed, maximized browser with every resource enabled */
+        DEFAULT(false, null, false, false, false),
+        /** Headless, small viewport, no images, remote fonts or background networking */
+        LEAN(true, "1280,800", true, true, true);
+
+        private final boolean headless;
+        private final String windowSize;
+        private final boolean disableImages;
+        private final boolean disableRemoteFonts;
+        private final boolean disableBackgroundNetworking;
+
+        Profile(boolean headless, String windowSize, boolean disableImages, boolean disableRemoteFonts,
+                boolean disableBackgroundNetworking) {
+            this.headless = headless;
+            this.windowSize = windowSize;
+            this.disableImages = disableImages;
+            this.disableRemoteFonts = disableRemoteFonts;
+            this.disableBackgroundNetworking = disableBackgroundNetworking;
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private BrowserConfig() {
+    }
+
+    /**
+     * Get a configuration value
+     *
+     * @param key          the property name
+     * @param defaultValue value used when the property is not set anywhere
+     * @return configured value or the default
+     */
+    public static String get(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = fileProperties.getProperty(key);
+        }
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    /**
+     * Get an integer configuration value
+     *
+     * @param key          the property name
+     * @param defaultValue value used when the property is not set anywhere
+     * @return configured value or the default
+     */
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key, null);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    /**
+     * Get a long configuration value
+     *
+     * @param key          the property name
+     * @param defaultValue value used when the property is not set anywhere
+     * @return configured value or the default
+     */
+    public static long getLong(String key, long defaultValue) {
+        String value = get(key, null);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+
+    /**
+     * Get a boolean configuration value
+     *
+     * @param key          the property name
+     * @param defaultValue value used when the property is not set anywhere
+     * @return configured value or the default
+     */
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Get the selected browser profile
+     *
+     * @return browser profile, DEFAULT unless configured otherwise
+     */
+    public static Profile getProfile() {
+        return Profile.valueOf(get("browser.profile", "default").toUpperCase());
+    }
+
+    /**
+     * Get the base URL of the application under test.
+     * With {@code saucedemo.target=local} the in-process stub server is started and used,
+     * otherwise {@code saucedemo.baseUrl} or the public SauceDemo site.
+     *
+     * @return base URL ending with a slash
+     */
+    public static String getBaseUrl() {
+        if ("local".equalsIgnoreCase(get("saucedemo.target", "remote"))) {
+            return SauceDemoStubServer.shared().getBaseUrl();
+        }
+        String baseUrl = get("saucedemo.baseUrl", PUBLIC_BASE_URL);
+        return baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    /**
+     * Build Chrome options for the selected profile and individual overrides
+     *
+     * @return configured ChromeOptions
+     */
+    public static ChromeOptions chromeOptions() {
+        Profile profile = getProfile();
+        boolean headless = getBoolean("browser.headless", profile.headless);
+        String windowSize = get("browser.windowSize", profile.windowSize);
+        boolean disableImages = getBoolean("browser.disableImages", profile.disableImages);
+        boolean disableRemoteFonts = getBoolean("browser.disableRemoteFonts", profile.disableRemoteFonts);
+        boolean disableBackgroundNetworking = getBoolean("browser.disableBackgroundNetworking",
+                profile.disableBackgroundNetworking);
+        String diskCacheDir = get("browser.diskCacheDir", null);
+
+        List<String> arguments = new ArrayList<>();
+        arguments.add("--disable-blink-features=AutomationControlled");
+        arguments.add("--disable-extensions");
+        arguments.add("--disable-plugins");
+        if (headless) {
+            arguments.add("--headless=new");
+            arguments.add("--disable-gpu");
+        }
+        if (windowSize != null) {
+            arguments.add("--window-size=" + windowSize);
+        } else {
+            arguments.add("--start-maximized");
+        }
+        if (disableRemoteFonts) {
+            arguments.add("--disable-remote-fonts");
+        }
+        if (disableBackgroundNetworking) {
+            arguments.add("--disable-background-networking");
+            arguments.add("--disable-component-update");
+            arguments.add("--disable-default-apps");
+            arguments.add("--disable-sync");
+            arguments.add("--no-first-run");
+            arguments.add("--metrics-recording-only");
+        }
+        if (diskCacheDir != null) {
+            arguments.add("--disk-cache-dir=" + Paths.get(diskCacheDir).toAbsolutePath());
+        }
+
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments(arguments);
+        if (disableImages) {
+            Map<String, Object> prefs = new HashMap<>();
+            prefs.put("profile.managed_default_content_settings.images", 2);
+            options.setExperimentalOption("prefs", prefs);
+        }
+        if (getBoolean("browser.consoleLogs", true)) {
+            // Chrome buffers console entries; they are only fetched when a test fails
+            LoggingPreferences logging = new LoggingPreferences();
+            logging.enable(LogType.BROWSER, Level.ALL);
+            options.setCapability("goog:loggingPrefs", logging);
+        }
+        String binary = get("browser.binary", null);
+        if (binary != null) {
+            options.setBinary(binary);
+        }
+        logger.debug("Chrome options for profile {}: {}", profile, arguments);
+        return options;
+    }
+
+    private static Properties loadFileProperties() {
+        Properties properties = new Properties();
+        try (InputStream in = BrowserConfig.class.getClassLoader().getResourceAsStream(CLASSPATH_CONFIG)) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read {} from classpath: {}", CLASSPATH_CONFIG, e.getMessage());
+        }
+        String externalConfig = System.getProperty("browser.config");
+        if (externalConfig != null) {
+            try (InputStream in = Files.newInputStream(Paths.get(externalConfig))) {
+                properties.load(in);
+                logger.info("Loaded configuration from {}", externalConfig);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not read configuration file " + externalConfig, e);
+            }
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,17 @@
+package com.saucedemo.config;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+
+/**
+ * ChromeDriverFactory launches Chrome on this machine ({@code driver.factory=local}).
+ * The driver binary is resolved by {@link DriverBinaryResolver}.
+ */
+public class ChromeDriverFactory implements DriverFactory {
+
+    @Override
+    public WebDriver create() {
+        DriverBinaryResolver.resolve();
+        return new ChromeDriver(BrowserConfig.chromeOptions());
+    }
+}
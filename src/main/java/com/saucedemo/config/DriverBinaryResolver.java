@@ -0,0 +1,209 @@
+package com.saucedemo.config;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DriverBinaryResolver locates the chromedriver binary once per JVM.
+ * Resolution order: an explicitly configured path, the on-disk cache keyed by
+ * the installed Chrome major version, and finally WebDriverManager. A driver is
+ * only cached when the Chrome version was detected.
+ * In offline mode WebDriverManager is never called.
+ */
+public class DriverBinaryResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverBinaryResolver.class);
+    private static final String CHROME_DRIVER_PROPERTY = "webdriver.chrome.driver";
+    private static final Pattern VERSION_PATTERN = Pattern.compile("(\\d+)\\.\\d+\\.\\d+(\\.\\d+)?");
+    private static final List<String> CHROME_COMMANDS = Arrays.asList(
+            "google-chrome", "google-chrome-stable", "chromium", "chromium-browser",
+            "/Applications/Google Chrome.app/Contents/MacOS/Google Chrome");
+
+    private static volatile String resolvedPath;
+    private static volatile long resolutionMillis;
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private DriverBinaryResolver() {
+    }
+
+    /**
+     * Resolve the chromedriver binary and publish it through the
+     * {@code webdriver.chrome.driver} system property. Only the first call does any work.
+     *
+     * @return absolute path of the chromedriver binary
+     */
+    public static String resolve() {
+        if (resolvedPath == null) {
+            synchronized (DriverBinaryResolver.class) {
+                if (resolvedPath == null) {
+                    long start = System.currentTimeMillis();
+                    String path = doResolve();
+                    System.setProperty(CHROME_DRIVER_PROPERTY, path);
+                    resolutionMillis = System.currentTimeMillis() - start;
+                    logger.info("Using chromedriver {} (resolved in {} ms)", path, resolutionMillis);
+                    resolvedPath = path;
+                }
+            }
+        }
+        return resolvedPath;
+    }
+
+    /**
+     * @return time spent resolving the binary, 0 if not resolved yet
+     */
+    public static long getResolutionMillis() {
+        return resolutionMillis;
+    }
+
+    private static String doResolve() {
+        String configured = System.getProperty(CHROME_DRIVER_PROPERTY, BrowserConfig.get("driver.binary.path", null));
+        if (configured != null && !configured.isEmpty()) {
+            if (!Files.isExecutable(Paths.get(configured))) {
+                throw new IllegalStateException("Configured chromedriver is not executable: " + configured);
+            }
+            logger.debug("Using configured chromedriver path");
+            return configured;
+        }
+
+        boolean offline = BrowserConfig.getBoolean("driver.offline", false);
+        String browserVersion = detectChromeMajorVersion();
+        // Without a detected version a cached driver could not be matched to the installed Chrome
+        String cacheKey = browserVersion != null ? "chrome." + browserVersion : null;
+        Path cacheFile = getCacheFile();
+        Properties cache = loadCache(cacheFile);
+
+        String cached = cacheKey != null ? cache.getProperty(cacheKey) : null;
+        if (cached != null && Files.isExecutable(Paths.get(cached))) {
+            logger.debug("Driver cache hit for {}: {}", cacheKey, cached);
+            return cached;
+        }
+
+        if (offline) {
+            if (cacheKey == null) {
+                throw new IllegalStateException("Offline mode: the installed Chrome version could not be detected,"
+                        + " so no cached chromedriver can be matched. Set driver.binary.path or browser.binary.");
+            }
+            throw new IllegalStateException("Offline mode: no cached chromedriver for " + cacheKey
+                    + " in " + cacheFile + ". Set driver.binary.path or run once online to fill the cache.");
+        }
+
+        logger.info("Driver cache miss for {}, resolving with WebDriverManager",
+                cacheKey != null ? cacheKey : "an undetected Chrome version");
+        WebDriverManager manager = WebDriverManager.chromedriver();
+        if (browserVersion != null) {
+            manager.browserVersion(browserVersion);
+        }
+        manager.setup();
+        String downloaded = manager.getDownloadedDriverPath();
+        if (downloaded == null) {
+            throw new IllegalStateException("WebDriverManager did not resolve a chromedriver binary");
+        }
+        if (cacheKey != null) {
+            cache.setProperty(cacheKey, downloaded);
+            storeCache(cacheFile, cache);
+        } else {
+            logger.info("Not caching {}: the installed Chrome version is unknown", downloaded);
+        }
+        return downloaded;
+    }
+
+    /**
+     * Ask the locally installed Chrome for its version without touching the network
+     *
+     * @return major version, or null if Chrome could not be found
+     */
+    private static String detectChromeMajorVersion() {
+        String configuredBinary = BrowserConfig.get("browser.binary", null);
+        List<String> candidates = configuredBinary != null
+                ? Arrays.asList(configuredBinary)
+                : CHROME_COMMANDS;
+        for (String command : candidates) {
+            String output = runVersionCommand(command);
+            if (output != null) {
+                Matcher matcher = VERSION_PATTERN.matcher(output);
+                if (matcher.find()) {
+                    logger.debug("Detected browser version {} using {}", matcher.group(), command);
+                    return matcher.group(1);
+                }
+            }
+        }
+        logger.warn("Could not detect installed Chrome version");
+        return null;
+    }
+
+    private static String runVersionCommand(String command) {
+        try {
+            Process process = new ProcessBuilder(command, "--version").redirectErrorStream(true).start();
+            // Wait before reading: a binary that hangs without printing must not block resolution.
+            // The version is a single line, far below the pipe buffer, so the process cannot stall on output.
+            if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                logger.debug("{} --version did not finish within 5 s", command);
+                return null;
+            }
+            try (InputStream in = process.getInputStream();
+                 BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                String line = reader.readLine();
+                return process.exitValue() == 0 ? line : null;
+            }
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static Path getCacheFile() {
+        String configured = BrowserConfig.get("driver.cache.file", null);
+        if (configured != null) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("user.home"), ".cache", "saucedemo-tests", "driver-cache.properties");
+    }
+
+    private static Properties loadCache(Path cacheFile) {
+        Properties cache = new Properties();
+        if (Files.isRegularFile(cacheFile)) {
+            try (InputStream in = Files.newInputStream(cacheFile)) {
+                cache.load(in);
+            } catch (IOException e) {
+                logger.warn("Ignoring unreadable driver cache {}: {}", cacheFile, e.getMessage());
+            }
+        }
+        return cache;
+    }
+
+    private static void storeCache(Path cacheFile, Properties cache) {
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            Path temp = Files.createTempFile(cacheFile.getParent(), "driver-cache", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                cache.store(out, "chromedriver binaries by Chrome major version");
+            }
+            Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warn("Could not write driver cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.saucedemo.config;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * DriverFactory creates the browser sessions that {@link DriverManager} pools.
+ * The implementation is chosen with {@code driver.factory}.
+ */
+public interface DriverFactory {
+
+    /**
+     * Start a new browser session
+     *
+     * @return WebDriver instance
+     */
+    WebDriver create();
+
+    /**
+     * Number of sessions this factory can host at the same time, used as the
+     * default driver pool size
+     *
+     * @return maximum number of concurrent sessions
+     */
+    default int getCapacity() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+}
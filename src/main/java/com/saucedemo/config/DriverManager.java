@@ -1,21 +1,39 @@
 package com.saucedemo.config;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.saucedemo.metrics.Timings;
+import com.saucedemo.utils.BrowserProcesses;
+import com.saucedemo.utils.CommandCounter;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.function.Supplier;
+
 /**
  * DriverManager handles WebDriver lifecycle management.
- * Implements Singleton pattern for ensuring single WebDriver instance.
+ * Each worker thread is bound to its own WebDriver borrowed from a bounded
+ * {@link DriverPool}, so tests can run in parallel without sharing sessions.
+ * By default sessions are recycled between tests: cookies and web storage are
+ * cleared instead of launching a new browser for every test. Sessions are created
+ * by the {@link DriverFactory} selected with {@code driver.factory}; their processes
+ * are tracked by a {@link DriverWatchdog}.
  */
 public class DriverManager {
 
     private static final Logger logger = LoggerFactory.getLogger(DriverManager.class);
-    private static WebDriver driver;
+    private static final ThreadLocal<WebDriver> currentDriver = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> currentDriverFailed = ThreadLocal.withInitial(() -> false);
     private static final Object lock = new Object();
+    private static final boolean REUSE_SESSIONS = BrowserConfig.getBoolean("driver.reuse", true);
+    private static final int WATCHDOG_MARGIN = 2;
+    private static final DriverStartupStats startupStats = new DriverStartupStats();
+    private static volatile DriverPool pool;
+    private static volatile DriverWatchdog watchdog;
+    private static volatile Supplier<WebDriver> driverFactory;
 
     /**
      * Private constructor to prevent instantiation
@@ -24,59 +42,254 @@ public class DriverManager {
     }
 
     /**
-     * Get or create WebDriver instance (thread-safe singleton)
+     * Get the WebDriver bound to the current thread, borrowing one from the pool if needed
      *
      * @return WebDriver instance
      */
     public static WebDriver getDriver() {
+        WebDriver driver = currentDriver.get();
         if (driver == null) {
+            logger.info("Borrowing WebDriver for thread {}", Thread.currentThread().getName());
+            DriverPool driverPool = getPool();
+            driver = Timings.time("driver.acquire", driverPool::borrow);
+            currentDriver.set(driver);
+            logger.info("WebDriver ready");
+        }
+        return driver;
+    }
+
+    /**
+     * Get the driver pool, creating it on first use
+     *
+     * @return shared DriverPool
+     */
+    public static DriverPool getPool() {
+        if (pool == null) {
             synchronized (lock) {
-                if (driver == null) {
-                    logger.info("Initializing WebDriver...");
-                    driver = initializeDriver();
-                    logger.info("WebDriver initialized successfully");
+                if (pool == null) {
+                    Supplier<WebDriver> factory = driverFactory;
+                    int defaultSize = Runtime.getRuntime().availableProcessors();
+                    if (factory == null) {
+                        DriverFactory configured = createDriverFactory();
+                        factory = () -> initializeDriver(configured);
+                        defaultSize = configured.getCapacity();
+                    }
+                    int size = BrowserConfig.getInt("driver.pool.size", defaultSize);
+                    int maxUses = BrowserConfig.getInt("driver.maxUses", 50);
+                    long timeoutSeconds = BrowserConfig.getLong("driver.pool.borrowTimeoutSeconds", 120);
+                    int spares = BrowserConfig.getInt("driver.spares", 0);
+                    int warmThreads = BrowserConfig.getInt("driver.warmup.threads", 2);
+                    logger.info("Creating WebDriver pool with max size {} (session reuse: {}, spares: {})",
+                            size, REUSE_SESSIONS, spares);
+                    watchdog = createWatchdog(size, spares);
+                    pool = new DriverPool(size, maxUses, Duration.ofSeconds(timeoutSeconds), factory, spares,
+                            warmThreads);
+                    watchdog.start(pool::getLiveCount, BrowserConfig.getLong("driver.watchdog.intervalSeconds", 30));
+                    Runtime.getRuntime().addShutdownHook(new Thread(DriverManager::shutdown, "driver-pool-shutdown"));
                 }
             }
         }
-        return driver;
+        return pool;
     }
 
     /**
-     * Initialize Chrome WebDriver with options
+     * Create the watchdog from {@code driver.watchdog.*} and reap processes left behind by earlier runs
      *
+     * @param poolSize size of the driver pool
+     * @param spares   number of spare drivers kept idle
+     * @return DriverWatchdog of this run
+     */
+    private static DriverWatchdog createWatchdog(int poolSize, int spares) {
+        DriverWatchdog created = new DriverWatchdog(
+                Paths.get(BrowserConfig.get("driver.watchdog.dir",
+                        Paths.get(System.getProperty("java.io.tmpdir"), "saucedemo-driver-watchdog").toString())),
+                // Room for retired browsers that are still exiting while their replacements start
+                BrowserConfig.getInt("driver.watchdog.maxSessions", poolSize + spares + WATCHDOG_MARGIN),
+                !"warn".equalsIgnoreCase(BrowserConfig.get("driver.watchdog.action", "fail")));
+        int reaped = created.reapStale();
+        if (reaped > 0) {
+            logger.warn("Reaped {} orphaned driver process(es) of earlier runs", reaped);
+        }
+        return created;
+    }
+
+    /**
+     * Start drivers in the background so the first tests find them ready.
+     * Creates the pool if needed and returns without waiting for the drivers.
+     *
+     * @param count number of drivers to start, capped at the pool size
+     * @return number of drivers being started
+     */
+    public static int warmUp(int count) {
+        int starting = getPool().warmUp(count);
+        logger.info("Warming up {} WebDriver(s) in the background", starting);
+        return starting;
+    }
+
+    /**
+     * Replace the factory that creates pooled drivers, e.g. with an in-memory fake for benchmarks.
+     * Must be called before the pool is created.
+     *
+     * @param factory creates a new WebDriver
+     */
+    public static void setDriverFactory(Supplier<WebDriver> factory) {
+        synchronized (lock) {
+            if (pool != null) {
+                throw new IllegalStateException("The WebDriver pool has already been created");
+            }
+            driverFactory = factory;
+        }
+    }
+
+    /**
+     * Create the factory selected with {@code driver.factory}: {@code local} (default)
+     * launches Chrome on this machine, {@code remote} uses Selenium Grid or standalone servers,
+     * {@code htmlunit} runs an in-JVM HtmlUnit browser
+     *
+     * @return configured DriverFactory
+     */
+    private static DriverFactory createDriverFactory() {
+        String name = BrowserConfig.get("driver.factory", "local");
+        switch (name.toLowerCase()) {
+            case "local":
+                return new ChromeDriverFactory();
+            case "remote":
+                return RemoteDriverFactory.fromConfig();
+            case "htmlunit":
+                return new HtmlUnitDriverFactory();
+            default:
+                throw new IllegalStateException("Unknown driver.factory '" + name
+                        + "', expected local, remote or htmlunit");
+        }
+    }
+
+    /**
+     * Initialize a WebDriver with the given factory and record its startup statistics
+     *
+     * @param factory the configured DriverFactory
      * @return WebDriver instance
      */
-    private static WebDriver initializeDriver() {
-        WebDriverManager.chromedriver().setup();
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments(
-                "--start-maximized",
-                "--disable-blink-features=AutomationControlled",
-                "--disable-extensions",
-                "--disable-plugins"
-        );
-        logger.debug("Chrome options configured");
-        return new ChromeDriver(options);
+    private static WebDriver initializeDriver(DriverFactory factory) {
+        logger.info("Initializing WebDriver (profile {}, {})...", BrowserConfig.getProfile(),
+                factory.getClass().getSimpleName());
+        long start = System.currentTimeMillis();
+        WebDriver driver = factory.create();
+        long elapsed = System.currentTimeMillis() - start;
+        try {
+            watchdog.register(driver);
+        } catch (IllegalStateException e) {
+            driver.quit();
+            throw e;
+        }
+        startupStats.recordLaunch(elapsed);
+        long residentKb = BrowserProcesses.residentKb(driver);
+        startupStats.recordResidentMemory(residentKb);
+        logger.info("WebDriver initialized successfully in {} ms (launch #{}, browser RSS {} KB)",
+                elapsed, startupStats.getLaunchCount(), residentKb);
+        if (BrowserConfig.getBoolean("driver.countCommands", false)) {
+            return new EventFiringDecorator<>(new CommandCounter()).decorate(driver);
+        }
+        return driver;
     }
 
     /**
-     * Quit WebDriver and clean up resources
+     * Release the current thread's WebDriver.
+     * In session reuse mode the browser state is reset and the driver goes back
+     * to the pool; otherwise, or if the test failed, the browser is quit.
      */
     public static void quitDriver() {
-        if (driver != null) {
-            logger.info("Closing WebDriver...");
-            driver.quit();
-            driver = null;
+        WebDriver driver = currentDriver.get();
+        if (driver == null) {
+            return;
+        }
+        boolean failed = currentDriverFailed.get();
+        currentDriver.remove();
+        currentDriverFailed.remove();
+
+        if (!REUSE_SESSIONS || failed) {
+            logger.info("Closing WebDriver{}...", failed ? " after test failure" : "");
+            getPool().invalidate(driver);
             logger.info("WebDriver closed successfully");
+            return;
+        }
+
+        logger.info("Resetting WebDriver session for reuse...");
+        long start = System.currentTimeMillis();
+        try {
+            resetSession(driver);
+        } catch (Exception e) {
+            logger.warn("Could not reset WebDriver session, discarding it: {}", e.getMessage());
+            getPool().invalidate(driver);
+            return;
+        }
+        startupStats.recordReset(System.currentTimeMillis() - start);
+        getPool().release(driver);
+        logger.info("WebDriver returned to pool");
+    }
+
+    /**
+     * Mark the current thread's WebDriver as unusable so it is quit instead of recycled
+     */
+    public static void markDriverFailed() {
+        if (currentDriver.get() != null) {
+            currentDriverFailed.set(true);
+        }
+    }
+
+    /**
+     * Clear cookies, local and session storage and leave the browser on a blank page
+     *
+     * @param driver the driver to reset
+     */
+    private static void resetSession(WebDriver driver) {
+        driver.manage().deleteAllCookies();
+        ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) { }");
+        driver.navigate().to("about:blank");
+    }
+
+    /**
+     * Get startup statistics for launched and recycled drivers
+     *
+     * @return startup statistics
+     */
+    public static DriverStartupStats getStartupStats() {
+        return startupStats;
+    }
+
+    /**
+     * Quit all pooled drivers. Registered as a JVM shutdown hook.
+     */
+    public static void shutdown() {
+        DriverPool current = pool;
+        if (current != null) {
+            logger.info("Closing pooled WebDrivers...");
+            current.shutdown();
         }
+        DriverWatchdog currentWatchdog = watchdog;
+        if (currentWatchdog != null) {
+            logger.info("Driver processes after closing the pool: {}", currentWatchdog.snapshot());
+            currentWatchdog.shutdown();
+        }
+        startupStats.logSummary();
+    }
+
+    /**
+     * Get the live sessions, driver and browser processes and their memory
+     *
+     * @return current snapshot, empty if no driver has been requested yet
+     */
+    public static DriverWatchdog.Snapshot getProcessSnapshot() {
+        DriverWatchdog current = watchdog;
+        return current == null ? new DriverWatchdog.Snapshot(0, 0, 0) : current.snapshot();
     }
 
     /**
-     * Check if driver is initialized
+     * Check if a driver is bound to the current thread
      *
      * @return true if driver is not null, false otherwise
      */
     public static boolean isDriverInitialized() {
-        return driver != null;
+        return currentDriver.get() != null;
     }
 }
@@ -0,0 +1,394 @@
+package com.saucedemo.config;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * DriverPool holds a bounded number of WebDriver sessions.
+ * Workers borrow a driver, use it exclusively and return it when done.
+ * Idle drivers are health-checked before being handed out again and are
+ * retired after a configurable number of uses.
+ * Drivers can be started ahead of demand on background threads ({@link #warmUp(int)});
+ * a borrower that finds no idle driver waits for one being warmed up instead of
+ * launching another, and a number of spares is kept idle when drivers are replaced.
+ */
+public class DriverPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverPool.class);
+
+    private final int maxSize;
+    private final int maxUses;
+    private final Duration borrowTimeout;
+    private final Supplier<WebDriver> factory;
+    private final Semaphore permits;
+    private final Deque<WebDriver> idle = new ArrayDeque<>();
+    private final Map<WebDriver, Integer> uses = new IdentityHashMap<>();
+    private final int spares;
+    private final ExecutorService warmer;
+    private int created;
+    private int live;
+    private int warming;
+    private int starting;
+    private int warmed;
+    private boolean shutDown;
+
+    /**
+     * Constructor
+     *
+     * @param maxSize       maximum number of live drivers
+     * @param maxUses       number of borrows after which a driver is retired, 0 for unlimited
+     * @param borrowTimeout how long a worker may wait for a free driver
+     * @param factory       creates a new driver when no idle one is available
+     */
+    public DriverPool(int maxSize, int maxUses, Duration borrowTimeout, Supplier<WebDriver> factory) {
+        this(maxSize, maxUses, borrowTimeout, factory, 0, 1);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param maxSize       maximum number of live drivers
+     * @param maxUses       number of borrows after which a driver is retired, 0 for unlimited
+     * @param borrowTimeout how long a worker may wait for a free driver
+     * @param factory       creates a new driver when no idle one is available
+     * @param spares        number of idle drivers kept ready when drivers are replaced
+     * @param warmThreads   number of threads starting drivers in the background
+     */
+    public DriverPool(int maxSize, int maxUses, Duration borrowTimeout, Supplier<WebDriver> factory, int spares,
+                      int warmThreads) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Driver pool size must be at least 1, got " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.maxUses = maxUses;
+        this.borrowTimeout = borrowTimeout;
+        this.factory = factory;
+        this.permits = new Semaphore(maxSize, true);
+        this.spares = spares;
+        this.warmer = Executors.newFixedThreadPool(Math.max(warmThreads, 1), runnable -> {
+            Thread thread = new Thread(runnable, "driver-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Borrow a driver, reusing a healthy idle one or creating a new one.
+     * Blocks while all drivers are in use.
+     *
+     * @return WebDriver owned by the caller until returned
+     */
+    public WebDriver borrow() {
+        long deadline = System.nanoTime() + borrowTimeout.toNanos();
+        acquirePermit(deadline);
+        try {
+            WebDriver driver;
+            while ((driver = pollIdleOrReserve(deadline)) != null) {
+                if (isHealthy(driver)) {
+                    logger.debug("Reusing idle WebDriver from pool");
+                    countUse(driver);
+                    return driver;
+                }
+                logger.warn("Discarding unhealthy idle WebDriver");
+                quitQuietly(driver);
+            }
+            try {
+                driver = factory.get();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    starting--;
+                    notifyAll();
+                }
+                throw e;
+            }
+            synchronized (this) {
+                starting--;
+                created++;
+                live++;
+            }
+            countUse(driver);
+            topUpSpares();
+            return driver;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Return a driver to the pool so another worker can use it.
+     * Drivers that reached their use limit or fail the health check are quit instead of kept,
+     * and spares are started to replace them.
+     *
+     * @param driver the driver previously borrowed
+     */
+    public void release(WebDriver driver) {
+        boolean replaced = true;
+        try {
+            if (isWornOut(driver)) {
+                logger.info("WebDriver reached {} uses, retiring it", maxUses);
+                quitQuietly(driver);
+            } else if (isHealthy(driver)) {
+                synchronized (this) {
+                    idle.push(driver);
+                    notifyAll();
+                }
+                replaced = false;
+            } else {
+                logger.warn("Returned WebDriver is unhealthy, quitting it");
+                quitQuietly(driver);
+            }
+        } finally {
+            permits.release();
+        }
+        if (replaced) {
+            topUpSpares();
+        }
+    }
+
+    /**
+     * Quit a borrowed driver and free its slot without keeping it.
+     *
+     * @param driver the driver previously borrowed
+     */
+    public void invalidate(WebDriver driver) {
+        try {
+            quitQuietly(driver);
+        } finally {
+            permits.release();
+        }
+        topUpSpares();
+    }
+
+    /**
+     * Start drivers on background threads and keep them idle until borrowed.
+     * Never starts more than the pool has room for.
+     *
+     * @param count number of drivers to start
+     * @return number of drivers actually being started
+     */
+    public synchronized int warmUp(int count) {
+        int started = Math.max(0, Math.min(count, getRoom()));
+        for (int i = 0; i < started; i++) {
+            startWarm();
+        }
+        return started;
+    }
+
+    /**
+     * Quit all idle drivers and any driver still being warmed up.
+     * Drivers currently borrowed are not affected.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            shutDown = true;
+        }
+        warmer.shutdown();
+        try {
+            if (!warmer.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Drivers still warming up at shutdown");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        WebDriver driver;
+        while ((driver = pollIdle()) != null) {
+            quitQuietly(driver);
+        }
+        logger.info("Driver pool shut down ({} drivers created in total, {} warmed up in the background)",
+                getCreatedCount(), getWarmedCount());
+    }
+
+    /**
+     * @return maximum number of live drivers
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return number of drivers currently borrowed
+     */
+    public int getBorrowedCount() {
+        return maxSize - permits.availablePermits();
+    }
+
+    /**
+     * @return number of idle drivers waiting to be reused
+     */
+    public synchronized int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * @return number of drivers created since the pool was started
+     */
+    public synchronized int getCreatedCount() {
+        return created;
+    }
+
+    /**
+     * @return number of drivers alive or being started, borrowed or idle
+     */
+    public synchronized int getLiveCount() {
+        return live + warming + starting;
+    }
+
+    /**
+     * @return number of drivers that were started in the background
+     */
+    public synchronized int getWarmedCount() {
+        return warmed;
+    }
+
+    /**
+     * @return number of drivers being started in the background right now
+     */
+    public synchronized int getWarmingCount() {
+        return warming;
+    }
+
+    /**
+     * Take a borrow slot, waiting no longer than the borrow's deadline
+     */
+    private void acquirePermit(long deadline) {
+        try {
+            if (!permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                throw new IllegalStateException("No WebDriver became available within " + borrowTimeout
+                        + " (pool size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a WebDriver", e);
+        }
+    }
+
+    private synchronized WebDriver pollIdle() {
+        return idle.poll();
+    }
+
+    /**
+     * Take an idle driver. If there is none, wait for a driver that is warming up rather
+     * than launching another, or else reserve room for the caller to launch one.
+     * Drivers being launched count against the pool size from the moment they are reserved.
+     *
+     * @return idle driver, or null if room for a new driver was reserved
+     */
+    private synchronized WebDriver pollIdleOrReserve(long deadline) {
+        while (idle.isEmpty()) {
+            long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+            if (warming == 0 || remainingMillis <= 0) {
+                if (getRoom() > 0) {
+                    starting++;
+                    return null;
+                }
+                if (remainingMillis <= 0) {
+                    throw new IllegalStateException("No WebDriver became available within " + borrowTimeout
+                            + " (pool size " + maxSize + ")");
+                }
+            }
+            try {
+                wait(remainingMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a WebDriver", e);
+            }
+        }
+        return idle.poll();
+    }
+
+    /**
+     * @return number of drivers that can still be launched without exceeding the pool size
+     */
+    private int getRoom() {
+        return maxSize - live - warming - starting;
+    }
+
+    /**
+     * Start drivers in the background until the pool has its spares idle or warming up,
+     * as far as the pool has room
+     */
+    private synchronized void topUpSpares() {
+        int missing = Math.min(spares - idle.size() - warming, getRoom());
+        for (int i = 0; i < missing; i++) {
+            startWarm();
+        }
+    }
+
+    private synchronized void startWarm() {
+        if (shutDown) {
+            return;
+        }
+        warming++;
+        warmer.execute(() -> {
+            WebDriver driver = null;
+            long start = System.currentTimeMillis();
+            try {
+                driver = factory.get();
+                logger.info("WebDriver warmed up in {} ms", System.currentTimeMillis() - start);
+            } catch (RuntimeException e) {
+                logger.warn("Could not warm up a WebDriver: {}", e.getMessage());
+            }
+            boolean discard = false;
+            synchronized (this) {
+                warming--;
+                if (driver != null) {
+                    created++;
+                    live++;
+                    warmed++;
+                    discard = shutDown;
+                    if (!discard) {
+                        idle.addLast(driver);
+                    }
+                }
+                notifyAll();
+            }
+            if (discard) {
+                quitQuietly(driver);
+            }
+        });
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            logger.debug("WebDriver health check failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private synchronized void countUse(WebDriver driver) {
+        uses.merge(driver, 1, Integer::sum);
+    }
+
+    private synchronized boolean isWornOut(WebDriver driver) {
+        return maxUses > 0 && uses.getOrDefault(driver, 0) >= maxUses;
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        synchronized (this) {
+            uses.remove(driver);
+            live--;
+            notifyAll();
+        }
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            logger.debug("Ignoring error while quitting WebDriver: {}", e.getMessage());
+        }
+    }
+}
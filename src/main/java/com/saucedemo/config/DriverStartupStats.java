@@ -0,0 +1,127 @@
+package com.saucedemo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * DriverStartupStats collects the cost of getting a ready WebDriver.
+ * Compares fresh browser launches against recycling an existing session.
+ */
+public class DriverStartupStats {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverStartupStats.class);
+
+    private long launchCount;
+    private long launchTotalMillis;
+    private long firstLaunchMillis;
+    private long resetCount;
+    private long resetTotalMillis;
+    private long memorySamples;
+    private long residentTotalKb;
+
+    /**
+     * Record a fresh browser launch
+     *
+     * @param millis time taken to start the browser
+     */
+    public synchronized void recordLaunch(long millis) {
+        if (launchCount == 0) {
+            firstLaunchMillis = millis;
+        }
+        launchCount++;
+        launchTotalMillis += millis;
+    }
+
+    /**
+     * Record the resident memory of a freshly launched browser
+     *
+     * @param residentKb browser RSS in kilobytes, negative if unknown
+     */
+    public synchronized void recordResidentMemory(long residentKb) {
+        if (residentKb > 0) {
+            memorySamples++;
+            residentTotalKb += residentKb;
+        }
+    }
+
+    /**
+     * Record a session reset that made a driver reusable
+     *
+     * @param millis time taken to reset the session
+     */
+    public synchronized void recordReset(long millis) {
+        resetCount++;
+        resetTotalMillis += millis;
+    }
+
+    /**
+     * @return number of fresh browser launches
+     */
+    public synchronized long getLaunchCount() {
+        return launchCount;
+    }
+
+    /**
+     * @return average fresh launch time in milliseconds
+     */
+    public synchronized long getAverageLaunchMillis() {
+        return launchCount == 0 ? 0 : launchTotalMillis / launchCount;
+    }
+
+    /**
+     * @return launch time of the first driver in milliseconds, including driver binary resolution
+     */
+    public synchronized long getFirstLaunchMillis() {
+        return firstLaunchMillis;
+    }
+
+    /**
+     * @return average launch time of every driver after the first one
+     */
+    public synchronized long getAverageSubsequentLaunchMillis() {
+        return launchCount < 2 ? 0 : (launchTotalMillis - firstLaunchMillis) / (launchCount - 1);
+    }
+
+    /**
+     * @return number of recycled sessions
+     */
+    public synchronized long getResetCount() {
+        return resetCount;
+    }
+
+    /**
+     * @return average reset time in milliseconds
+     */
+    public synchronized long getAverageResetMillis() {
+        return resetCount == 0 ? 0 : resetTotalMillis / resetCount;
+    }
+
+    /**
+     * @return average browser RSS at launch in kilobytes, 0 if unknown
+     */
+    public synchronized long getAverageResidentKb() {
+        return memorySamples == 0 ? 0 : residentTotalKb / memorySamples;
+    }
+
+    /**
+     * Log a per-test launch vs recycled session comparison
+     */
+    public synchronized void logSummary() {
+        if (launchCount > 0) {
+            logger.info("First driver ready in {} ms (driver binary resolution {} ms); "
+                            + "subsequent launches avg {} ms",
+                    firstLaunchMillis, DriverBinaryResolver.getResolutionMillis(),
+                    getAverageSubsequentLaunchMillis());
+        }
+        logger.info("Driver startup: {} fresh launch(es), avg {} ms; {} recycled session(s), avg reset {} ms",
+                launchCount, getAverageLaunchMillis(), resetCount, getAverageResetMillis());
+        if (memorySamples > 0) {
+            logger.info("Browser footprint (profile {}): avg RSS {} KB at launch over {} browser(s)",
+                    BrowserConfig.getProfile(), getAverageResidentKb(), memorySamples);
+        }
+        if (launchCount > 0 && resetCount > 0) {
+            long savedMillis = (getAverageLaunchMillis() - getAverageResetMillis()) * resetCount;
+            logger.info("Recycling saved approximately {} ms compared to launching a browser per test", savedMillis);
+        }
+    }
+}
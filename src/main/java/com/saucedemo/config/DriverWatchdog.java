@@ -0,0 +1,374 @@
+package com.saucedemo.config;
+
+import com.saucedemo.utils.BrowserProcesses;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * DriverWatchdog tracks the process tree (driver service and browser) of every
+ * local session and writes their process ids to {@code driver.watchdog.dir}.
+ * Processes left behind by a JVM that was killed are reaped by the next run, and
+ * whatever is still alive when this JVM shuts down is killed. Live sessions are
+ * checked periodically: sessions not owned by the driver pool are reported as
+ * leaked. A new session that would exceed the ceiling is either refused or logged;
+ * the ceiling is checked for each launch, so a brief overshoot only affects that launch.
+ */
+public class DriverWatchdog {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverWatchdog.class);
+    private static final String PID_FILE_SUFFIX = ".pids";
+
+    private final Path dir;
+    private final Path pidFile;
+    private final int maxSessions;
+    private final boolean failOnCeiling;
+    private final List<List<ProcessHandle>> sessions = new ArrayList<>();
+    private ScheduledExecutorService checker;
+    private boolean ceilingExceeded;
+
+    /**
+     * Live sessions, processes and memory at one point in time
+     */
+    public static final class Snapshot {
+        private final int sessions;
+        private final int processes;
+        private final long residentKb;
+
+        /**
+         * Constructor
+         *
+         * @param sessions   number of sessions with live processes
+         * @param processes  number of live processes of those sessions
+         * @param residentKb summed RSS of those processes in kilobytes, -1 if unknown
+         */
+        public Snapshot(int sessions, int processes, long residentKb) {
+            this.sessions = sessions;
+            this.processes = processes;
+            this.residentKb = residentKb;
+        }
+
+        /**
+         * @return number of sessions with live processes
+         */
+        public int getSessions() {
+            return sessions;
+        }
+
+        /**
+         * @return number of live driver and browser processes
+         */
+        public int getProcesses() {
+            return processes;
+        }
+
+        /**
+         * @return summed RSS of the live processes in kilobytes, -1 if unknown
+         */
+        public long getResidentKb() {
+            return residentKb;
+        }
+
+        @Override
+        public String toString() {
+            return sessions + " session(s), " + processes + " process(es), "
+                    + (residentKb < 0 ? "unknown" : residentKb / 1024 + " MB") + " resident";
+        }
+    }
+
+    /**
+     * Constructor
+     *
+     * @param dir           directory of the process id files shared by all runs on this machine
+     * @param maxSessions   ceiling of live sessions
+     * @param failOnCeiling true to refuse new sessions above the ceiling, false to only warn
+     */
+    public DriverWatchdog(Path dir, int maxSessions, boolean failOnCeiling) {
+        this.dir = dir;
+        this.pidFile = dir.resolve(fileName(ProcessHandle.current()) + PID_FILE_SUFFIX);
+        this.maxSessions = maxSessions;
+        this.failOnCeiling = failOnCeiling;
+    }
+
+    /**
+     * Kill the processes recorded by runs whose JVM is no longer alive and delete their files.
+     * Files of JVMs that are still running, e.g. parallel forks, are left alone.
+     *
+     * @return number of processes killed
+     */
+    public int reapStale() {
+        if (!Files.isDirectory(dir)) {
+            return 0;
+        }
+        int killed = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + PID_FILE_SUFFIX)) {
+            for (Path file : files) {
+                String owner = file.getFileName().toString().replace(PID_FILE_SUFFIX, "");
+                if (file.equals(pidFile) || isAlive(owner)) {
+                    continue;
+                }
+                int reaped = 0;
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    Optional<ProcessHandle> process = find(line.trim());
+                    if (process.isPresent()) {
+                        reaped += destroyTree(process.get());
+                    }
+                }
+                if (reaped > 0) {
+                    logger.warn("Killed {} driver process(es) left behind by JVM {}", reaped, owner);
+                }
+                killed += reaped;
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not reap stale driver processes in {}: {}", dir, e.getMessage());
+        }
+        return killed;
+    }
+
+    /**
+     * Start tracking the processes of a newly created session
+     *
+     * @param driver the new session
+     * @throws IllegalStateException if the session would exceed the ceiling and the action is fail;
+     *                               the session is not tracked then, the caller has to quit it
+     */
+    public void register(WebDriver driver) {
+        List<ProcessHandle> roots = findRoots(driver);
+        if (roots.isEmpty()) {
+            return;
+        }
+        int live;
+        synchronized (this) {
+            sessions.add(roots);
+            live = getLiveSessions().size();
+            if (failOnCeiling && live > maxSessions) {
+                sessions.remove(roots);
+            }
+            writePidFile();
+        }
+        if (live > maxSessions) {
+            warnCeilingExceeded(live);
+            if (failOnCeiling) {
+                throw new IllegalStateException(live + " live browser sessions exceed driver.watchdog.maxSessions="
+                        + maxSessions + ", refusing the new session");
+            }
+        }
+    }
+
+    /**
+     * Count the live sessions, their processes and memory
+     *
+     * @return current snapshot
+     */
+    public Snapshot snapshot() {
+        List<List<ProcessHandle>> live;
+        synchronized (this) {
+            live = getLiveSessions();
+        }
+        List<ProcessHandle> processes = new ArrayList<>();
+        for (List<ProcessHandle> roots : live) {
+            processes.addAll(tree(roots));
+        }
+        processes = processes.stream().distinct().collect(Collectors.toList());
+        long residentKb = processes.isEmpty() ? 0 : BrowserProcesses.residentKb(processes);
+        return new Snapshot(live.size(), processes.size(), residentKb);
+    }
+
+    /**
+     * Check the live sessions periodically on a daemon thread
+     *
+     * @param expectedSessions number of sessions the driver pool currently owns
+     * @param intervalSeconds  seconds between checks, 0 to disable
+     */
+    public synchronized void start(IntSupplier expectedSessions, long intervalSeconds) {
+        if (intervalSeconds <= 0 || checker != null) {
+            return;
+        }
+        checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "driver-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checker.scheduleWithFixedDelay(() -> check(expectedSessions.getAsInt()),
+                intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Compare the live sessions with what the pool owns and with the ceiling
+     *
+     * @param expectedSessions number of sessions the driver pool currently owns
+     * @return current snapshot
+     */
+    public Snapshot check(int expectedSessions) {
+        Snapshot snapshot = snapshot();
+        logger.debug("Driver watchdog: {}", snapshot);
+        if (snapshot.getSessions() > expectedSessions) {
+            logger.warn("{} browser session(s) alive that the driver pool does not own ({})",
+                    snapshot.getSessions() - expectedSessions, snapshot);
+        }
+        if (snapshot.getSessions() > maxSessions) {
+            warnCeilingExceeded(snapshot.getSessions());
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return true if the live sessions exceeded the ceiling at some point during this run
+     */
+    public synchronized boolean isCeilingExceeded() {
+        return ceilingExceeded;
+    }
+
+    /**
+     * Stop checking, kill every tracked process that is still alive and delete this run's file.
+     * Called after the driver pool quit its drivers, so anything left is a leak.
+     */
+    public void shutdown() {
+        List<List<ProcessHandle>> live;
+        synchronized (this) {
+            if (checker != null) {
+                checker.shutdownNow();
+            }
+            live = getLiveSessions();
+            sessions.clear();
+        }
+        int killed = 0;
+        for (List<ProcessHandle> roots : live) {
+            for (ProcessHandle root : roots) {
+                killed += destroyTree(root);
+            }
+        }
+        if (killed > 0) {
+            logger.warn("Killed {} driver process(es) of {} session(s) still alive at shutdown",
+                    killed, live.size());
+        }
+        try {
+            Files.deleteIfExists(pidFile);
+        } catch (IOException e) {
+            logger.debug("Could not delete {}: {}", pidFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Log the first time the ceiling is exceeded; later overshoots are only refused or counted
+     */
+    private synchronized void warnCeilingExceeded(int live) {
+        if (!ceilingExceeded) {
+            logger.warn("{} live browser sessions exceed driver.watchdog.maxSessions={}{}", live, maxSessions,
+                    failOnCeiling ? ", sessions above it are refused" : "");
+        }
+        ceilingExceeded = true;
+    }
+
+    /**
+     * Drop the sessions whose processes are all gone
+     */
+    private List<List<ProcessHandle>> getLiveSessions() {
+        sessions.removeIf(roots -> roots.stream().noneMatch(ProcessHandle::isAlive));
+        return new ArrayList<>(sessions);
+    }
+
+    private void writePidFile() {
+        List<String> lines = new ArrayList<>();
+        for (List<ProcessHandle> roots : sessions) {
+            for (ProcessHandle root : roots) {
+                lines.add(fileName(root));
+            }
+        }
+        try {
+            Files.createDirectories(dir);
+            Files.write(pidFile, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn("Could not write {}: {}", pidFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Find the browser's main process and the driver service that started it
+     */
+    private static List<ProcessHandle> findRoots(WebDriver driver) {
+        List<ProcessHandle> roots = new ArrayList<>();
+        List<ProcessHandle> browser = BrowserProcesses.find(driver);
+        if (browser.isEmpty()) {
+            return roots;
+        }
+        ProcessHandle browserRoot = browser.get(0);
+        browserRoot.parent()
+                .filter(parent -> parent.pid() != ProcessHandle.current().pid())
+                .ifPresent(roots::add);
+        roots.add(browserRoot);
+        return roots;
+    }
+
+    private static List<ProcessHandle> tree(List<ProcessHandle> roots) {
+        List<ProcessHandle> processes = new ArrayList<>();
+        for (ProcessHandle root : roots) {
+            if (root.isAlive()) {
+                processes.add(root);
+            }
+            processes.addAll(root.descendants().collect(Collectors.toList()));
+        }
+        return processes;
+    }
+
+    private static int destroyTree(ProcessHandle root) {
+        int killed = 0;
+        for (ProcessHandle process : root.descendants().collect(Collectors.toList())) {
+            if (process.destroyForcibly()) {
+                killed++;
+            }
+        }
+        if (root.isAlive() && root.destroyForcibly()) {
+            killed++;
+        }
+        return killed;
+    }
+
+    /**
+     * Identify a process by id and start time, so a reused process id is never mistaken for it
+     */
+    private static String fileName(ProcessHandle process) {
+        long started = process.info().startInstant().map(Instant::toEpochMilli).orElse(0L);
+        return process.pid() + "-" + started;
+    }
+
+    /**
+     * Look up a live process by the identifier written with {@link #fileName(ProcessHandle)}
+     */
+    private static Optional<ProcessHandle> find(String id) {
+        String[] parts = id.split("-");
+        if (parts.length != 2) {
+            return Optional.empty();
+        }
+        try {
+            long started = Long.parseLong(parts[1]);
+            return ProcessHandle.of(Long.parseLong(parts[0]))
+                    .filter(ProcessHandle::isAlive)
+                    .filter(process -> started != 0 && process.info().startInstant()
+                            .map(instant -> instant.toEpochMilli() == started)
+                            .orElse(false));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static boolean isAlive(String id) {
+        return find(id).isPresent();
+    }
+}
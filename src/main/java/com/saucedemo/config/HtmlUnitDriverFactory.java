@@ -0,0 +1,18 @@
+package com.saucedemo.config;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+
+/**
+ * HtmlUnitDriverFactory creates in-JVM HtmlUnit sessions with JavaScript enabled
+ * ({@code driver.factory=htmlunit}). No browser process is started, the session lives in
+ * the test JVM's heap; there is no rendering, no screenshots and no DevTools.
+ * Meant for fast checks of form wiring and messages, e.g. against the stub server.
+ */
+public class HtmlUnitDriverFactory implements DriverFactory {
+
+    @Override
+    public WebDriver create() {
+        return new HtmlUnitDriver(true);
+    }
+}
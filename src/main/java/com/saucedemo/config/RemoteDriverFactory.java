@@ -0,0 +1,234 @@
+package com.saucedemo.config;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * RemoteDriverFactory starts sessions on one or more Selenium Grid hubs or standalone
+ * servers ({@code driver.factory=remote}, {@code driver.remote.urls}). Before each session
+ * the {@code /status} endpoint of every server is read and the session goes to the server
+ * with the most free Chrome slots, minus sessions this JVM is still starting there.
+ * Servers that cannot be reached are skipped for {@code driver.remote.retryAfterSeconds};
+ * if a session cannot be created on one server the next one is tried.
+ */
+public class RemoteDriverFactory implements DriverFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteDriverFactory.class);
+    private static final Json json = new Json();
+
+    private final List<Endpoint> endpoints;
+    private final Duration statusTimeout;
+    private final Duration retryAfter;
+    private final HttpClient httpClient;
+
+    /**
+     * A Grid hub or standalone server and what this JVM knows about it
+     */
+    private static final class Endpoint {
+        private final URL url;
+        private final URI statusUri;
+        private int pending;
+        private int started;
+        private long downUntil;
+        private int freeSlots;
+        private int totalSlots;
+
+        private Endpoint(URL url) {
+            this.url = url;
+            String base = url.toString().replaceAll("/+$", "");
+            this.statusUri = URI.create(base + "/status");
+        }
+    }
+
+    /**
+     * Constructor
+     *
+     * @param urls          Grid hub or standalone server URLs, e.g. http://localhost:4444
+     * @param statusTimeout timeout of a status request
+     * @param retryAfter    how long an unreachable server is skipped
+     */
+    public RemoteDriverFactory(List<String> urls, Duration statusTimeout, Duration retryAfter) {
+        if (urls.isEmpty()) {
+            throw new IllegalStateException("driver.factory=remote needs at least one URL in driver.remote.urls");
+        }
+        this.endpoints = new ArrayList<>();
+        for (String url : urls) {
+            try {
+                endpoints.add(new Endpoint(new URL(url)));
+            } catch (MalformedURLException e) {
+                throw new IllegalStateException("Invalid remote WebDriver URL " + url, e);
+            }
+        }
+        this.statusTimeout = statusTimeout;
+        this.retryAfter = retryAfter;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(statusTimeout).build();
+    }
+
+    /**
+     * Create a factory from {@code driver.remote.urls} (comma separated),
+     * {@code driver.remote.statusTimeoutMillis} and {@code driver.remote.retryAfterSeconds}
+     *
+     * @return configured factory
+     */
+    public static RemoteDriverFactory fromConfig() {
+        List<String> urls = Arrays.stream(BrowserConfig.get("driver.remote.urls", "http://localhost:4444").split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .collect(Collectors.toList());
+        return new RemoteDriverFactory(urls,
+                Duration.ofMillis(BrowserConfig.getLong("driver.remote.statusTimeoutMillis", 2000)),
+                Duration.ofSeconds(BrowserConfig.getLong("driver.remote.retryAfterSeconds", 30)));
+    }
+
+    @Override
+    public WebDriver create() {
+        ChromeOptions options = BrowserConfig.chromeOptions();
+        WebDriverException lastFailure = null;
+        for (Endpoint endpoint : rankEndpoints()) {
+            synchronized (this) {
+                endpoint.pending++;
+            }
+            try {
+                logger.info("Starting remote session on {} ({} of {} slots free)",
+                        endpoint.url, endpoint.freeSlots, endpoint.totalSlots);
+                WebDriver driver = new RemoteWebDriver(endpoint.url, options);
+                synchronized (this) {
+                    endpoint.started++;
+                    logger.info("Remote session started on {} ({} session(s) started there so far)",
+                            endpoint.url, endpoint.started);
+                }
+                return driver;
+            } catch (WebDriverException e) {
+                logger.warn("Could not start a session on {}: {}", endpoint.url, e.getMessage());
+                markDown(endpoint);
+                lastFailure = e;
+            } finally {
+                synchronized (this) {
+                    endpoint.pending--;
+                }
+            }
+        }
+        throw new IllegalStateException("No remote WebDriver server could start a session: "
+                + endpoints.stream().map(endpoint -> endpoint.url.toString()).collect(Collectors.joining(", ")),
+                lastFailure);
+    }
+
+    /**
+     * Total Chrome slots of all reachable servers, at least 1
+     *
+     * @return maximum number of concurrent sessions
+     */
+    @Override
+    public int getCapacity() {
+        int total = 0;
+        for (Endpoint endpoint : endpoints) {
+            refreshStatus(endpoint);
+            total += endpoint.totalSlots;
+        }
+        logger.info("Remote WebDriver capacity: {} Chrome slot(s) on {} server(s)", total, endpoints.size());
+        return Math.max(total, 1);
+    }
+
+    /**
+     * Order the servers for the next session: reachable ones by free slots not yet claimed
+     * by sessions being started, then by the fewest sessions started so far; servers that
+     * are down go last and are only tried if every other server fails.
+     */
+    private List<Endpoint> rankEndpoints() {
+        long now = System.currentTimeMillis();
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.downUntil <= now) {
+                refreshStatus(endpoint);
+            }
+        }
+        synchronized (this) {
+            List<Endpoint> ranked = new ArrayList<>(endpoints);
+            ranked.sort(Comparator.comparing((Endpoint endpoint) -> endpoint.downUntil > now)
+                    .thenComparing(endpoint -> -(endpoint.freeSlots - endpoint.pending))
+                    .thenComparing(endpoint -> endpoint.started));
+            return Collections.unmodifiableList(ranked);
+        }
+    }
+
+    private void refreshStatus(Endpoint endpoint) {
+        HttpRequest request = HttpRequest.newBuilder(endpoint.statusUri).timeout(statusTimeout).GET().build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("HTTP " + response.statusCode());
+            }
+            int[] slots = countChromeSlots(response.body());
+            synchronized (this) {
+                endpoint.freeSlots = slots[0];
+                endpoint.totalSlots = slots[1];
+                endpoint.downUntil = 0;
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Remote WebDriver server {} is not reachable: {}", endpoint.url, e.getMessage());
+            markDown(endpoint);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading the status of " + endpoint.url, e);
+        }
+    }
+
+    private synchronized void markDown(Endpoint endpoint) {
+        endpoint.downUntil = System.currentTimeMillis() + retryAfter.toMillis();
+        endpoint.freeSlots = 0;
+    }
+
+    /**
+     * Count free and total Chrome slots on the nodes of a Grid or standalone status response
+     *
+     * @param status body of the /status response
+     * @return free slots and total slots
+     */
+    @SuppressWarnings("unchecked")
+    static int[] countChromeSlots(String status) {
+        Map<String, Object> response = json.toType(status, Json.MAP_TYPE);
+        Map<String, Object> value = (Map<String, Object>) response.get("value");
+        int free = 0;
+        int total = 0;
+        if (value == null || !(value.get("nodes") instanceof List)) {
+            return new int[]{free, total};
+        }
+        for (Object node : (List<Object>) value.get("nodes")) {
+            Map<String, Object> nodeStatus = (Map<String, Object>) node;
+            if (!"UP".equals(nodeStatus.get("availability")) || !(nodeStatus.get("slots") instanceof List)) {
+                continue;
+            }
+            for (Object slot : (List<Object>) nodeStatus.get("slots")) {
+                Map<String, Object> slotStatus = (Map<String, Object>) slot;
+                Object stereotype = slotStatus.get("stereotype");
+                if (stereotype instanceof Map && "chrome".equals(((Map<String, Object>) stereotype).get("browserName"))) {
+                    total++;
+                    if (slotStatus.get("session") == null) {
+                        free++;
+                    }
+                }
+            }
+        }
+        return new int[]{free, total};
+    }
+}
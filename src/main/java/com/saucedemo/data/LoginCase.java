@@ -0,0 +1,73 @@
+package com.saucedemo.data;
+
+import com.saucedemo.pages.LoginPage.LoginOutcome;
+
+/**
+ * LoginCase is one row of the login matrix: credentials and the expected result.
+ */
+public class LoginCase {
+
+    private final int row;
+    private final String username;
+    private final String password;
+    private final LoginOutcome expectedOutcome;
+    private final String expectedError;
+
+    /**
+     * Constructor
+     *
+     * @param row             position in the matrix, starting at 0
+     * @param username        the username, may be empty
+     * @param password        the password, may be empty
+     * @param expectedOutcome outcome the login should have
+     * @param expectedError   text the error message should contain, empty if none
+     */
+    public LoginCase(int row, String username, String password, LoginOutcome expectedOutcome,
+                     String expectedError) {
+        this.row = row;
+        this.username = username;
+        this.password = password;
+        this.expectedOutcome = expectedOutcome;
+        this.expectedError = expectedError;
+    }
+
+    /**
+     * @return position in the matrix, starting at 0
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * @return the username
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * @return the password
+     */
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * @return outcome the login should have
+     */
+    public LoginOutcome getExpectedOutcome() {
+        return expectedOutcome;
+    }
+
+    /**
+     * @return text the error message should contain, empty if none
+     */
+    public String getExpectedError() {
+        return expectedError;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + row + " " + (username.isEmpty() ? "<empty>" : username) + " -> " + expectedOutcome;
+    }
+}
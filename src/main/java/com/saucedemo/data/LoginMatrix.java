@@ -0,0 +1,151 @@
+package com.saucedemo.data;
+
+import com.saucedemo.pages.LoginPage.LoginOutcome;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * LoginMatrix loads login cases from a CSV or JSON file and splits them into shards.
+ * <p>
+ * CSV: a header line, then {@code username,password,outcome,error} per line; fields
+ * containing commas are double-quoted, lines starting with {@code #} are ignored.
+ * JSON: an array of objects with the keys {@code username}, {@code password},
+ * {@code outcome} and {@code error}.
+ */
+public class LoginMatrix {
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private LoginMatrix() {
+    }
+
+    /**
+     * Load a matrix from a file path or, if no such file exists, from the classpath
+     *
+     * @param location file path or classpath resource ending with .csv or .json
+     * @return the login cases in file order
+     */
+    public static List<LoginCase> load(String location) {
+        String content = read(location);
+        return location.toLowerCase().endsWith(".json") ? parseJson(content) : parseCsv(content);
+    }
+
+    /**
+     * Select the cases of one shard. Row {@code i} belongs to shard {@code i % shardCount},
+     * so every shard index gets a fixed, disjoint and evenly sized part of the matrix.
+     *
+     * @param cases      all cases
+     * @param shardIndex index of the shard, from 0 to shardCount - 1
+     * @param shardCount number of shards
+     * @return the cases of the shard
+     */
+    public static List<LoginCase> shard(List<LoginCase> cases, int shardIndex, int shardCount) {
+        if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalStateException("Invalid shard " + shardIndex + " of " + shardCount);
+        }
+        return cases.stream()
+                .filter(loginCase -> loginCase.getRow() % shardCount == shardIndex)
+                .collect(Collectors.toList());
+    }
+
+    static List<LoginCase> parseCsv(String content) {
+        List<LoginCase> cases = new ArrayList<>();
+        boolean header = true;
+        for (String line : content.split("\\r?\\n")) {
+            if (line.trim().isEmpty() || line.trim().startsWith("#")) {
+                continue;
+            }
+            if (header) {
+                header = false;
+                continue;
+            }
+            List<String> fields = splitCsvLine(line);
+            while (fields.size() < 4) {
+                fields.add("");
+            }
+            cases.add(new LoginCase(cases.size(), fields.get(0), fields.get(1),
+                    parseOutcome(fields.get(2)), fields.get(3)));
+        }
+        return cases;
+    }
+
+    static List<LoginCase> parseJson(String content) {
+        List<Map<String, Object>> rows = new Json().toType(content, Json.LIST_OF_MAPS_TYPE);
+        List<LoginCase> cases = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            cases.add(new LoginCase(cases.size(), stringValue(row.get("username")),
+                    stringValue(row.get("password")), parseOutcome(stringValue(row.get("outcome"))),
+                    stringValue(row.get("error"))));
+        }
+        return cases;
+    }
+
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    private static LoginOutcome parseOutcome(String value) {
+        try {
+            return LoginOutcome.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Unknown login outcome in matrix: '" + value + "'", e);
+        }
+    }
+
+    private static String stringValue(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static String read(String location) {
+        Path file = Paths.get(location);
+        try {
+            if (Files.isRegularFile(file)) {
+                return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            }
+            try (InputStream in = LoginMatrix.class.getClassLoader().getResourceAsStream(location)) {
+                if (in == null) {
+                    throw new IllegalStateException("Login matrix not found: " + location);
+                }
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read login matrix " + location, e);
+        }
+    }
+}
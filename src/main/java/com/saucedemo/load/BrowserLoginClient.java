@@ -0,0 +1,46 @@
+package com.saucedemo.load;
+
+import com.saucedemo.config.DriverManager;
+import com.saucedemo.pages.LoginPage;
+
+/**
+ * BrowserLoginClient logs in through {@link LoginPage} in a real browser. The
+ * user holds one driver from the {@link DriverManager} pool for its lifetime, so
+ * the number of users must not exceed {@code driver.pool.size}, which
+ * {@link LoadRunner#browser(LoadProfile)} checks. A driver that throws is
+ * discarded and replaced before the next login.
+ */
+public class BrowserLoginClient implements LoginClient {
+
+    private LoginPage loginPage;
+
+    @Override
+    public void open() {
+        loginPage = new LoginPage();
+    }
+
+    @Override
+    public boolean login(String username, String password) {
+        if (loginPage == null) {
+            open();
+        }
+        try {
+            DriverManager.getDriver().manage().deleteAllCookies();
+            loginPage.openLoginPage();
+            loginPage.login(username, password);
+            return loginPage.getLoginOutcome() == LoginPage.LoginOutcome.SUCCESS;
+        } catch (RuntimeException e) {
+            DriverManager.markDriverFailed();
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (loginPage != null) {
+            DriverManager.quitDriver();
+            loginPage = null;
+        }
+    }
+}
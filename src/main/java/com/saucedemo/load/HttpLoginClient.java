@@ -0,0 +1,54 @@
+package com.saucedemo.load;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * HttpLoginClient posts the login form straight to the login endpoint of the
+ * stub server, without a browser, so thousands of virtual users fit in one JVM.
+ * The public SauceDemo site validates logins in the browser and has no such
+ * endpoint; this client only works against {@code saucedemo.target=local}.
+ */
+public class HttpLoginClient implements LoginClient {
+
+    private static final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private final URI loginUri;
+
+    /**
+     * Constructor
+     *
+     * @param baseUrl base URL of the stub server, ending with a slash
+     */
+    public HttpLoginClient(String baseUrl) {
+        this.loginUri = URI.create(baseUrl + "api/login");
+    }
+
+    @Override
+    public boolean login(String username, String password) {
+        String form = "user-name=" + URLEncoder.encode(username, StandardCharsets.UTF_8)
+                + "&password=" + URLEncoder.encode(password, StandardCharsets.UTF_8);
+        HttpRequest request = HttpRequest.newBuilder(loginUri)
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Login request to " + loginUri + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during login request", e);
+        }
+    }
+}
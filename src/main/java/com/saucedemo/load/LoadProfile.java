@@ -0,0 +1,117 @@
+package com.saucedemo.load;
+
+import com.saucedemo.config.BrowserConfig;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * LoadProfile describes a load run: how many virtual users log in concurrently,
+ * how long it takes to start them all, how long they keep going afterwards and
+ * which accounts they use.
+ */
+public class LoadProfile {
+
+    private final int users;
+    private final Duration rampUp;
+    private final Duration steadyState;
+    private final Duration thinkTime;
+    private final List<String> usernames;
+    private final String password;
+
+    /**
+     * Constructor
+     *
+     * @param users       number of concurrent virtual users
+     * @param rampUp      time over which the users are started evenly
+     * @param steadyState time all users keep running once started
+     * @param thinkTime   pause of each user between two logins
+     * @param usernames   accounts the users log in with, assigned round-robin
+     * @param password    password of the accounts
+     */
+    public LoadProfile(int users, Duration rampUp, Duration steadyState, Duration thinkTime,
+                       List<String> usernames, String password) {
+        if (users < 1) {
+            throw new IllegalArgumentException("A load profile needs at least one user");
+        }
+        if (usernames.isEmpty()) {
+            throw new IllegalArgumentException("A load profile needs at least one username");
+        }
+        this.users = users;
+        this.rampUp = rampUp;
+        this.steadyState = steadyState;
+        this.thinkTime = thinkTime;
+        this.usernames = new ArrayList<>(usernames);
+        this.password = password;
+    }
+
+    /**
+     * Build the profile from {@code load.*} configuration
+     *
+     * @return configured load profile
+     */
+    public static LoadProfile fromConfig() {
+        List<String> usernames = Arrays.stream(BrowserConfig.get("load.usernames", "standard_user").split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toList());
+        return new LoadProfile(
+                BrowserConfig.getInt("load.users", 10),
+                Duration.ofSeconds(BrowserConfig.getLong("load.rampUpSeconds", 5)),
+                Duration.ofSeconds(BrowserConfig.getLong("load.steadyStateSeconds", 30)),
+                Duration.ofMillis(BrowserConfig.getLong("load.thinkTimeMillis", 0)),
+                usernames,
+                BrowserConfig.get("load.password", "secret_sauce"));
+    }
+
+    /**
+     * @return number of concurrent virtual users
+     */
+    public int getUsers() {
+        return users;
+    }
+
+    /**
+     * @return time over which the users are started
+     */
+    public Duration getRampUp() {
+        return rampUp;
+    }
+
+    /**
+     * @return time all users keep running once started
+     */
+    public Duration getSteadyState() {
+        return steadyState;
+    }
+
+    /**
+     * @return pause of each user between two logins
+     */
+    public Duration getThinkTime() {
+        return thinkTime;
+    }
+
+    /**
+     * @return accounts the users log in with
+     */
+    public List<String> getUsernames() {
+        return new ArrayList<>(usernames);
+    }
+
+    /**
+     * @return password of the accounts
+     */
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String toString() {
+        return users + " user(s), ramp-up " + rampUp.getSeconds() + " s, steady state "
+                + steadyState.getSeconds() + " s, think time " + thinkTime.toMillis() + " ms";
+    }
+}
@@ -0,0 +1,163 @@
+package com.saucedemo.load;
+
+import com.saucedemo.metrics.LatencyHistogram;
+import com.saucedemo.metrics.Timings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LoadResult collects the outcome of every login of a load run. Throughput and
+ * latency are reported for the steady state, when all users are running, and
+ * for the whole run including ramp-up.
+ */
+public class LoadResult {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadResult.class);
+
+    private final LoadProfile profile;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram steadyStateLatency = new LatencyHistogram();
+    private final AtomicLong successes = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong steadyStateLogins = new AtomicLong();
+    private volatile Duration elapsed = Duration.ZERO;
+
+    /**
+     * Constructor
+     *
+     * @param profile the profile of the run
+     */
+    public LoadResult(LoadProfile profile) {
+        this.profile = profile;
+    }
+
+    /**
+     * Record one login
+     *
+     * @param success     whether the login was accepted
+     * @param micros      latency in microseconds
+     * @param steadyState whether the login started after ramp-up
+     */
+    void record(boolean success, long micros, boolean steadyState) {
+        (success ? successes : errors).incrementAndGet();
+        latency.record(micros);
+        if (steadyState) {
+            steadyStateLogins.incrementAndGet();
+            steadyStateLatency.record(micros);
+        }
+    }
+
+    /**
+     * Record a user that could not start
+     */
+    void recordFailedUser() {
+        errors.incrementAndGet();
+    }
+
+    void setElapsed(Duration elapsed) {
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * @return number of logins attempted
+     */
+    public long getTotal() {
+        return successes.get() + errors.get();
+    }
+
+    /**
+     * @return number of logins that failed or threw
+     */
+    public long getErrors() {
+        return errors.get();
+    }
+
+    /**
+     * @return share of failed logins between 0 and 1
+     */
+    public double getErrorRate() {
+        long total = getTotal();
+        return total == 0 ? 0 : (double) errors.get() / total;
+    }
+
+    /**
+     * @return logins per second during the steady state, or over the whole run without one
+     */
+    public double getThroughput() {
+        long steadyMillis = profile.getSteadyState().toMillis();
+        if (steadyMillis > 0 && steadyStateLogins.get() > 0) {
+            return steadyStateLogins.get() * 1000.0 / steadyMillis;
+        }
+        return elapsed.toMillis() == 0 ? 0 : getTotal() * 1000.0 / elapsed.toMillis();
+    }
+
+    /**
+     * @return latency of all logins of the run
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return latency of the logins started after ramp-up
+     */
+    public LatencyHistogram getSteadyStateLatency() {
+        return steadyStateLatency;
+    }
+
+    /**
+     * @return machine-readable summary of the run
+     */
+    public Map<String, Object> toReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("profile", profile.toString());
+        report.put("elapsedMs", elapsed.toMillis());
+        report.put("logins", getTotal());
+        report.put("errors", getErrors());
+        report.put("errorRate", getErrorRate());
+        report.put("throughputPerSecond", getThroughput());
+        report.put("latency", latency.toSummary());
+        report.put("steadyStateLatency", steadyStateLatency.toSummary());
+        return report;
+    }
+
+    /**
+     * Write the summary as JSON
+     *
+     * @param file target file
+     */
+    public void writeReport(Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, Timings.toJson(toReport()).getBytes(StandardCharsets.UTF_8));
+            logger.info("Load report written to {}", file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write load report " + file, e);
+        }
+    }
+
+    /**
+     * Log the summary
+     */
+    public void logSummary() {
+        LatencyHistogram reported = steadyStateLatency.getCount() > 0 ? steadyStateLatency : latency;
+        logger.info("Load run ({}): {} login(s) in {} ms, {} error(s) ({}%), {} logins/s",
+                profile, getTotal(), elapsed.toMillis(), getErrors(),
+                String.format("%.2f", getErrorRate() * 100), String.format("%.1f", getThroughput()));
+        logger.info("Load run latency: p50 {} ms, p95 {} ms, p99 {} ms, max {} ms",
+                reported.getValueAtPercentile(50) / 1000, reported.getValueAtPercentile(95) / 1000,
+                reported.getValueAtPercentile(99) / 1000, reported.getMax() / 1000);
+    }
+}
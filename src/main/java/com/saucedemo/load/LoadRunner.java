@@ -0,0 +1,144 @@
+package com.saucedemo.load;
+
+import com.saucedemo.config.DriverManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * LoadRunner drives concurrent virtual users through the login flow. Users are
+ * started evenly over the ramp-up, then every user logs in repeatedly until the
+ * steady state has elapsed. Each user runs on its own thread with its own
+ * {@link LoginClient}.
+ */
+public class LoadRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadRunner.class);
+
+    private final LoadProfile profile;
+    private final Supplier<LoginClient> clientFactory;
+
+    /**
+     * Constructor
+     *
+     * @param profile       the load to generate
+     * @param clientFactory creates one client per virtual user
+     */
+    public LoadRunner(LoadProfile profile, Supplier<LoginClient> clientFactory) {
+        this.profile = profile;
+        this.clientFactory = clientFactory;
+    }
+
+    /**
+     * Create a runner whose users log in through a browser, one pooled driver per user
+     *
+     * @param profile the load to generate
+     * @return runner using {@link BrowserLoginClient}
+     * @throws IllegalStateException if the profile has more users than the driver pool has drivers
+     */
+    public static LoadRunner browser(LoadProfile profile) {
+        int poolSize = DriverManager.getPool().getMaxSize();
+        if (profile.getUsers() > poolSize) {
+            // Users without a driver would wait inside their first login and report the wait as latency
+            throw new IllegalStateException("load.users=" + profile.getUsers() + " exceeds driver.pool.size="
+                    + poolSize + " for the browser client; each user holds one driver, so lower load.users"
+                    + " or raise driver.pool.size");
+        }
+        return new LoadRunner(profile, BrowserLoginClient::new);
+    }
+
+    /**
+     * Run the load and wait for all users to finish
+     *
+     * @return the result of the run
+     */
+    public LoadResult run() {
+        logger.info("Starting load run: {}", profile);
+        LoadResult result = new LoadResult(profile);
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(profile.getUsers(), runnable -> {
+            Thread thread = new Thread(runnable, "load-user-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        long steadyStart = start + profile.getRampUp().toNanos();
+        long end = steadyStart + profile.getSteadyState().toNanos();
+        List<Future<?>> users = new ArrayList<>();
+        for (int user = 0; user < profile.getUsers(); user++) {
+            int index = user;
+            long startAt = start + profile.getRampUp().toNanos() * user / profile.getUsers();
+            users.add(executor.submit(() -> runUser(index, startAt, steadyStart, end, result)));
+        }
+        try {
+            for (Future<?> user : users) {
+                user.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during load run", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Virtual user failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        result.setElapsed(Duration.ofNanos(System.nanoTime() - start));
+        result.logSummary();
+        return result;
+    }
+
+    private void runUser(int index, long startAt, long steadyStart, long end, LoadResult result) {
+        sleepUntil(startAt);
+        LoginClient client = clientFactory.get();
+        try {
+            client.open();
+        } catch (RuntimeException e) {
+            logger.warn("Virtual user {} could not start: {}", index, e.getMessage());
+            result.recordFailedUser();
+            client.close();
+            return;
+        }
+        List<String> usernames = profile.getUsernames();
+        try {
+            for (int iteration = 0; System.nanoTime() < end; iteration++) {
+                String username = usernames.get((index + iteration) % usernames.size());
+                long loginStart = System.nanoTime();
+                boolean success;
+                try {
+                    success = client.login(username, profile.getPassword());
+                } catch (RuntimeException e) {
+                    logger.debug("Login of {} by virtual user {} failed: {}", username, index, e.getMessage());
+                    success = false;
+                }
+                result.record(success, (System.nanoTime() - loginStart) / 1000, loginStart >= steadyStart);
+                if (!profile.getThinkTime().isZero()) {
+                    sleepUntil(Math.min(end, System.nanoTime() + profile.getThinkTime().toNanos()));
+                }
+            }
+        } finally {
+            client.close();
+        }
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(remaining / 1_000_000, (int) (remaining % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting", e);
+        }
+    }
+}
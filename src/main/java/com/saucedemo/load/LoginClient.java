@@ -0,0 +1,29 @@
+package com.saucedemo.load;
+
+/**
+ * LoginClient performs logins on behalf of one virtual user. Each virtual user
+ * gets its own client, and all calls happen on that user's thread.
+ */
+public interface LoginClient {
+
+    /**
+     * Acquire the resources the user needs before its first login
+     */
+    default void open() {
+    }
+
+    /**
+     * Log in once
+     *
+     * @param username the username
+     * @param password the password
+     * @return true if the login was accepted
+     */
+    boolean login(String username, String password);
+
+    /**
+     * Release the resources of the user
+     */
+    default void close() {
+    }
+}
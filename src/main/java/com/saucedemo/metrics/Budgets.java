@@ -0,0 +1,150 @@
+package com.saucedemo.metrics;
+
+import com.saucedemo.config.BrowserConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Budgets asserts step latencies of the current test against fixed budgets and
+ * against the stored {@link PerformanceBaseline}. A step regresses when it is more
+ * than {@code perf.regression.percent} (default 20) and at least
+ * {@code perf.regression.minMillis} (default 50) slower than its baseline;
+ * {@code perf.regression.action} decides whether that fails the test or only warns.
+ */
+public class Budgets {
+
+    private static final Logger logger = LoggerFactory.getLogger(Budgets.class);
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private Budgets() {
+    }
+
+    /**
+     * Assert that the last execution of a step in the current test stayed within a budget
+     *
+     * @param step   step name
+     * @param budget maximum allowed latency
+     */
+    public static void assertWithin(String step, Duration budget) {
+        TestTimings test = requireCurrentTest();
+        long millis = test.getLastMillis(step);
+        if (millis < 0) {
+            throw new AssertionError("Step '" + step + "' was not measured in " + test.getTestName());
+        }
+        if (millis > budget.toMillis()) {
+            throw new AssertionError(String.format("Step '%s' took %d ms, budget is %d ms",
+                    step, millis, budget.toMillis()));
+        }
+    }
+
+    /**
+     * Assert that a percentile of a step's latencies in the current test stayed within a budget
+     *
+     * @param step       step name
+     * @param percentile percentile between 0 and 100
+     * @param budget     maximum allowed latency
+     */
+    public static void assertPercentileWithin(String step, double percentile, Duration budget) {
+        long millis = percentileMillis(requireCurrentTest(), step, percentile);
+        if (millis > budget.toMillis()) {
+            throw new AssertionError(String.format("Step '%s' %s took %d ms, budget is %d ms",
+                    step, PerformanceBaseline.formatPercentile(percentile), millis, budget.toMillis()));
+        }
+    }
+
+    /**
+     * Check declared budgets of the current test and compare them with the baseline,
+     * or update the baseline when {@code perf.baseline.update=true}. Budgets limited to
+     * another {@code saucedemo.target} are skipped.
+     *
+     * @param budgets the test's budgets
+     */
+    public static void verify(PerformanceBudget... budgets) {
+        TestTimings test = requireCurrentTest();
+        boolean updateBaseline = BrowserConfig.getBoolean("perf.baseline.update", false);
+        String target = BrowserConfig.get("saucedemo.target", "remote");
+        List<String> violations = new ArrayList<>();
+        for (PerformanceBudget budget : budgets) {
+            if (!budget.target().isEmpty() && !budget.target().equalsIgnoreCase(target)) {
+                continue;
+            }
+            long millis;
+            try {
+                millis = percentileMillis(test, budget.step(), budget.percentile());
+            } catch (AssertionError e) {
+                violations.add(e.getMessage());
+                continue;
+            }
+            if (millis > budget.millis()) {
+                violations.add(String.format("Step '%s' %s took %d ms, budget is %d ms", budget.step(),
+                        PerformanceBaseline.formatPercentile(budget.percentile()), millis, budget.millis()));
+            }
+            String key = PerformanceBaseline.key(target, test.getTestName(), budget.step(),
+                    budget.percentile());
+            if (updateBaseline) {
+                PerformanceBaseline.shared().update(key, millis);
+                logger.info("Baseline {} updated to {} ms", key, millis);
+            } else {
+                String regression = checkRegression(key, millis);
+                if (regression != null) {
+                    violations.add(regression);
+                }
+            }
+        }
+        if (!violations.isEmpty()) {
+            throw new AssertionError("Performance budget exceeded in " + test.getTestName() + ": "
+                    + String.join("; ", violations));
+        }
+    }
+
+    /**
+     * Compare a measurement with its baseline
+     *
+     * @param key    baseline key
+     * @param millis measured latency in milliseconds
+     * @return regression message if the run should fail, null otherwise
+     */
+    private static String checkRegression(String key, long millis) {
+        Long baseline = PerformanceBaseline.shared().get(key);
+        if (baseline == null) {
+            logger.debug("No baseline for {}, measured {} ms", key, millis);
+            return null;
+        }
+        int allowedPercent = BrowserConfig.getInt("perf.regression.percent", 20);
+        long minMillis = BrowserConfig.getLong("perf.regression.minMillis", 50);
+        long limit = Math.max(Math.round(baseline * (1 + allowedPercent / 100.0)), baseline + minMillis);
+        if (millis <= limit) {
+            logger.debug("{}: {} ms against baseline {} ms", key, millis, baseline);
+            return null;
+        }
+        String message = String.format("%s regressed to %d ms from a baseline of %d ms (+%.0f%%, limit %d ms)",
+                key, millis, baseline, (millis - baseline) * 100.0 / Math.max(1, baseline), limit);
+        if ("warn".equalsIgnoreCase(BrowserConfig.get("perf.regression.action", "fail"))) {
+            logger.warn(message);
+            return null;
+        }
+        return message;
+    }
+
+    private static long percentileMillis(TestTimings test, String step, double percentile) {
+        LatencyHistogram histogram = test.getStep(step);
+        if (histogram == null || histogram.getCount() == 0) {
+            throw new AssertionError("Step '" + step + "' was not measured in " + test.getTestName());
+        }
+        return histogram.getValueAtPercentile(percentile) / 1000;
+    }
+
+    private static TestTimings requireCurrentTest() {
+        TestTimings test = Timings.currentTest();
+        if (test == null) {
+            throw new IllegalStateException("No test timings are being collected on this thread");
+        }
+        return test;
+    }
+}
@@ -0,0 +1,154 @@
+package com.saucedemo.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LatencyHistogram records latencies in microseconds into log-linear buckets,
+ * in the style of HdrHistogram: values below 128 are exact, larger values are
+ * grouped into 64 sub-buckets per power of two, keeping every recorded value
+ * within 1.6% of its bucket while using a fixed amount of memory.
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 128;
+    private static final int SUB_BUCKETS = 64;
+    private static final int BUCKET_COUNT = LINEAR_BUCKETS + 56 * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    /**
+     * Record a latency
+     *
+     * @param micros latency in microseconds, negative values are recorded as 0
+     */
+    public synchronized void record(long micros) {
+        long value = Math.max(0, micros);
+        counts[indexOf(value)]++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Add all values recorded by another histogram
+     *
+     * @param other the histogram to merge in
+     */
+    public void add(LatencyHistogram other) {
+        long[] otherCounts;
+        long otherCount;
+        long otherSum;
+        long otherMin;
+        long otherMax;
+        synchronized (other) {
+            otherCounts = other.counts.clone();
+            otherCount = other.count;
+            otherSum = other.sum;
+            otherMin = other.min;
+            otherMax = other.max;
+        }
+        synchronized (this) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] += otherCounts[i];
+            }
+            count += otherCount;
+            sum += otherSum;
+            min = Math.min(min, otherMin);
+            max = Math.max(max, otherMax);
+        }
+    }
+
+    /**
+     * @return number of recorded values
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * @return largest recorded value in microseconds
+     */
+    public synchronized long getMax() {
+        return max;
+    }
+
+    /**
+     * @return smallest recorded value in microseconds, 0 if empty
+     */
+    public synchronized long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    /**
+     * @return mean of the recorded values in microseconds
+     */
+    public synchronized double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Get the value at a percentile
+     *
+     * @param percentile percentile between 0 and 100
+     * @return the highest value equivalent to the percentile's bucket, in microseconds
+     */
+    public synchronized long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestValueOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Summarize the histogram in milliseconds
+     *
+     * @return count, min, mean, p50, p95, p99 and max
+     */
+    public synchronized Map<String, Object> toSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", count);
+        summary.put("minMs", toMillis(getMin()));
+        summary.put("meanMs", toMillis(Math.round(getMean())));
+        summary.put("p50Ms", toMillis(getValueAtPercentile(50)));
+        summary.put("p95Ms", toMillis(getValueAtPercentile(95)));
+        summary.put("p99Ms", toMillis(getValueAtPercentile(99)));
+        summary.put("maxMs", toMillis(max));
+        return summary;
+    }
+
+    private static double toMillis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+
+    private static int indexOf(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - 6;
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + (int) ((value >> shift) - SUB_BUCKETS);
+    }
+
+    private static long highestValueOf(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int offset = index - LINEAR_BUCKETS;
+        int shift = offset / SUB_BUCKETS + 1;
+        long subBucket = offset % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
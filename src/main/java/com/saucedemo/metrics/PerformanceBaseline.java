@@ -0,0 +1,145 @@
+package com.saucedemo.metrics;
+
+import com.saucedemo.config.BrowserConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * PerformanceBaseline stores step latencies of previous runs in a local properties
+ * file ({@code perf.baseline.file}, default performance/baseline.properties), keyed
+ * by target ({@code saucedemo.target}), test, step and percentile, so stub server
+ * and public site runs never compare against each other. The file is only written when a run is started
+ * with {@code perf.baseline.update=true}.
+ */
+public class PerformanceBaseline {
+
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceBaseline.class);
+    private static PerformanceBaseline shared;
+
+    private final Path file;
+    private final Map<String, Long> values = new TreeMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param file the baseline file, read if it exists
+     */
+    public PerformanceBaseline(Path file) {
+        this.file = file;
+        load();
+    }
+
+    /**
+     * Get the JVM-wide baseline from {@code perf.baseline.file}
+     *
+     * @return shared baseline
+     */
+    public static synchronized PerformanceBaseline shared() {
+        if (shared == null) {
+            shared = new PerformanceBaseline(
+                    Paths.get(BrowserConfig.get("perf.baseline.file", "performance/baseline.properties")));
+        }
+        return shared;
+    }
+
+    /**
+     * Build the baseline key of a measurement
+     *
+     * @param target     {@code saucedemo.target} the measurement was taken against
+     * @param testName   name of the test
+     * @param step       step name
+     * @param percentile percentile of the step's latencies
+     * @return baseline key
+     */
+    public static String key(String target, String testName, String step, double percentile) {
+        return target.toLowerCase() + "." + testName + "." + step + "." + formatPercentile(percentile);
+    }
+
+    /**
+     * Format a percentile as p50, p95, p99.9
+     *
+     * @param percentile percentile between 0 and 100
+     * @return formatted percentile
+     */
+    static String formatPercentile(double percentile) {
+        return "p" + (percentile == Math.rint(percentile)
+                ? String.valueOf((long) percentile)
+                : String.valueOf(percentile));
+    }
+
+    /**
+     * Get a baseline latency
+     *
+     * @param key baseline key
+     * @return latency in milliseconds, or null if there is no baseline
+     */
+    public synchronized Long get(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * Set a baseline latency and write the file
+     *
+     * @param key    baseline key
+     * @param millis latency in milliseconds
+     */
+    public synchronized void update(String key, long millis) {
+        values.put(key, millis);
+        save();
+    }
+
+    /**
+     * @return path of the baseline file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(file)) {
+            logger.debug("No performance baseline at {}", file);
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read performance baseline " + file, e);
+        }
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                values.put(key, Long.parseLong(properties.getProperty(key).trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring invalid baseline entry {}={}", key, properties.getProperty(key));
+            }
+        }
+        logger.info("Loaded {} performance baseline entries from {}", values.size(), file);
+    }
+
+    private void save() {
+        List<String> lines = new ArrayList<>();
+        lines.add("# Performance baseline in milliseconds, updated with -Dperf.baseline.update=true");
+        values.forEach((key, millis) -> lines.add(key + "=" + millis));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write performance baseline " + file, e);
+        }
+    }
+}
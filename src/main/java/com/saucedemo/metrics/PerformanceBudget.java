@@ -0,0 +1,41 @@
+package com.saucedemo.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a latency budget for a step measured while the annotated test runs.
+ * The budget applies to a percentile of the step's latencies in that test, and
+ * the same percentile is compared against the stored baseline. A budget can be
+ * limited to one {@code saucedemo.target}, so the stub server gets tight absolute
+ * budgets while the public site gets headroom and relies on the baseline.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Repeatable(PerformanceBudgets.class)
+public @interface PerformanceBudget {
+
+    /**
+     * @return step name, as recorded by {@link Timings}
+     */
+    String step();
+
+    /**
+     * @return maximum allowed latency in milliseconds
+     */
+    long millis();
+
+    /**
+     * @return percentile of the step's latencies the budget applies to
+     */
+    double percentile() default 95;
+
+    /**
+     * @return {@code saucedemo.target} the budget applies to, e.g. local for the stub server;
+     * empty for every target
+     */
+    String target() default "";
+}
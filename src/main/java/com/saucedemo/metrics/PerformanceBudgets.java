@@ -0,0 +1,19 @@
+package com.saucedemo.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Container for repeated {@link PerformanceBudget} annotations.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface PerformanceBudgets {
+
+    /**
+     * @return the budgets of the test
+     */
+    PerformanceBudget[] value();
+}
@@ -0,0 +1,250 @@
+package com.saucedemo.metrics;
+
+import com.saucedemo.config.BrowserConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * TestHistory keeps the duration and the last result of every test method in a local
+ * properties file ({@code test.history.file}, default performance/test-history.properties),
+ * keyed by {@code <class>#<method>}. Invocations of a parameterized method are summed.
+ * Durations are smoothed over runs so a single slow run does not reshuffle the schedule.
+ * The file is re-read and merged when saved, so forks sharing it only overwrite their own tests.
+ */
+public class TestHistory {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestHistory.class);
+    private static final String PASSED = "passed";
+    private static final String FAILED = "failed";
+    private static TestHistory shared;
+
+    private final Path file;
+    private final Map<String, Entry> entries = new TreeMap<>();
+    private final Map<String, Entry> currentRun = new TreeMap<>();
+
+    /**
+     * Duration and result of one test method
+     */
+    public static final class Entry {
+        private final long millis;
+        private final boolean failed;
+
+        /**
+         * Constructor
+         *
+         * @param millis duration in milliseconds
+         * @param failed whether the test failed
+         */
+        public Entry(long millis, boolean failed) {
+            this.millis = millis;
+            this.failed = failed;
+        }
+
+        /**
+         * @return duration in milliseconds
+         */
+        public long getMillis() {
+            return millis;
+        }
+
+        /**
+         * @return true if the test failed
+         */
+        public boolean isFailed() {
+            return failed;
+        }
+    }
+
+    /**
+     * Constructor
+     *
+     * @param file the history file, read if it exists
+     */
+    public TestHistory(Path file) {
+        this.file = file;
+        entries.putAll(read(file));
+    }
+
+    /**
+     * Get the JVM-wide history from {@code test.history.file}
+     *
+     * @return shared history
+     */
+    public static synchronized TestHistory shared() {
+        if (shared == null) {
+            shared = new TestHistory(
+                    Paths.get(BrowserConfig.get("test.history.file", "performance/test-history.properties")));
+        }
+        return shared;
+    }
+
+    /**
+     * Build the history key of a test method
+     *
+     * @param className  fully qualified name of the test class
+     * @param methodName name of the test method
+     * @return history key
+     */
+    public static String key(String className, String methodName) {
+        return className + "#" + methodName;
+    }
+
+    /**
+     * Get the recorded history of a test method
+     *
+     * @param key history key
+     * @return entry, or null if the test has not run before
+     */
+    public synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Check whether a test method failed in its last recorded run
+     *
+     * @param key history key
+     * @return true if the last run failed
+     */
+    public synchronized boolean hasFailed(String key) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.isFailed();
+    }
+
+    /**
+     * Estimate the duration of a test method. Tests without history are
+     * assumed to take as long as the average known test.
+     *
+     * @param key history key
+     * @return expected duration in milliseconds
+     */
+    public synchronized long estimateMillis(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            return entry.getMillis();
+        }
+        return (long) entries.values().stream().mapToLong(Entry::getMillis).average().orElse(1);
+    }
+
+    /**
+     * Check whether any test method of a class failed in its last recorded run
+     *
+     * @param className fully qualified name of the test class
+     * @return true if a test of the class failed
+     */
+    public synchronized boolean hasFailedClass(String className) {
+        String prefix = className + "#";
+        return entries.entrySet().stream()
+                .anyMatch(entry -> entry.getKey().startsWith(prefix) && entry.getValue().isFailed());
+    }
+
+    /**
+     * Estimate the duration of a test class as the sum of its known test methods.
+     * Classes without history are assumed to take as long as the average known class.
+     *
+     * @param className fully qualified name of the test class
+     * @return expected duration in milliseconds
+     */
+    public synchronized long estimateClassMillis(String className) {
+        Map<String, Long> classes = new TreeMap<>();
+        entries.forEach((key, entry) -> classes.merge(key.substring(0, Math.max(key.indexOf('#'), 0)),
+                entry.getMillis(), Long::sum));
+        Long known = classes.get(className);
+        if (known != null) {
+            return known;
+        }
+        return (long) classes.values().stream().mapToLong(Long::longValue).average().orElse(1);
+    }
+
+    /**
+     * Record one execution of a test method in the current run
+     *
+     * @param key    history key
+     * @param millis duration in milliseconds
+     * @param failed whether the execution failed
+     */
+    public synchronized void record(String key, long millis, boolean failed) {
+        currentRun.merge(key, new Entry(millis, failed),
+                (previous, next) -> new Entry(previous.getMillis() + next.getMillis(),
+                        previous.isFailed() || next.isFailed()));
+    }
+
+    /**
+     * Merge the current run into the file and start a new one.
+     * Tests that did not run keep their entries.
+     */
+    public synchronized void save() {
+        if (currentRun.isEmpty()) {
+            return;
+        }
+        Map<String, Entry> merged = read(file);
+        currentRun.forEach((key, run) -> {
+            Entry previous = merged.get(key);
+            long millis = previous == null ? run.getMillis() : (previous.getMillis() + run.getMillis()) / 2;
+            merged.put(key, new Entry(millis, run.isFailed()));
+        });
+        List<String> lines = new ArrayList<>();
+        lines.add("# Test durations in milliseconds and last result, written after every run");
+        merged.forEach((key, entry) -> lines.add(key + "="
+                + entry.getMillis() + "," + (entry.isFailed() ? FAILED : PASSED)));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write test history " + file, e);
+        }
+        entries.clear();
+        entries.putAll(merged);
+        logger.info("Saved {} test duration(s) to {}", currentRun.size(), file);
+        currentRun.clear();
+    }
+
+    /**
+     * @return path of the history file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    private static Map<String, Entry> read(Path file) {
+        Map<String, Entry> values = new TreeMap<>();
+        if (!Files.isRegularFile(file)) {
+            logger.debug("No test history at {}", file);
+            return values;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read test history " + file, e);
+        }
+        for (String key : properties.stringPropertyNames()) {
+            String[] parts = properties.getProperty(key).trim().split(",");
+            try {
+                values.put(key, new Entry(Long.parseLong(parts[0].trim()),
+                        parts.length > 1 && FAILED.equalsIgnoreCase(parts[1].trim())));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring invalid test history entry {}={}", key, properties.getProperty(key));
+            }
+        }
+        logger.debug("Loaded {} test history entries from {}", values.size(), file);
+        return values;
+    }
+}
@@ -0,0 +1,82 @@
+package com.saucedemo.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * TestTimings holds the step latencies recorded while a single test was running.
+ */
+public class TestTimings {
+
+    private final String testName;
+    private final Map<String, LatencyHistogram> steps = new TreeMap<>();
+    private final Map<String, Long> lastMicros = new TreeMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param testName name of the test
+     */
+    public TestTimings(String testName) {
+        this.testName = testName;
+    }
+
+    /**
+     * Record a step latency
+     *
+     * @param step   step name
+     * @param micros latency in microseconds
+     */
+    synchronized void record(String step, long micros) {
+        steps.computeIfAbsent(step, key -> new LatencyHistogram()).record(micros);
+        lastMicros.put(step, micros);
+    }
+
+    /**
+     * @return name of the test
+     */
+    public String getTestName() {
+        return testName;
+    }
+
+    /**
+     * Get the histogram of a step
+     *
+     * @param step step name
+     * @return histogram, or null if the step was not recorded during this test
+     */
+    public synchronized LatencyHistogram getStep(String step) {
+        return steps.get(step);
+    }
+
+    /**
+     * Get the latency of the most recent execution of a step
+     *
+     * @param step step name
+     * @return latency in milliseconds, -1 if the step was not recorded
+     */
+    public synchronized long getLastMillis(String step) {
+        Long micros = lastMicros.get(step);
+        return micros == null ? -1 : micros / 1000;
+    }
+
+    /**
+     * @return step names mapped to their histograms
+     */
+    public synchronized Map<String, LatencyHistogram> getSteps() {
+        return new TreeMap<>(steps);
+    }
+
+    /**
+     * @return machine-readable summary of the test's steps
+     */
+    public synchronized Map<String, Object> toReport() {
+        Map<String, Object> stepSummaries = new LinkedHashMap<>();
+        steps.forEach((step, histogram) -> stepSummaries.put(step, histogram.toSummary()));
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("test", testName);
+        report.put("steps", stepSummaries);
+        return report;
+    }
+}
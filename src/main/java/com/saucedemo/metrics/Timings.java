@@ -0,0 +1,253 @@
+package com.saucedemo.metrics;
+
+import com.saucedemo.config.BrowserConfig;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Timings aggregates step latencies for the whole run into histograms, per step
+ * and per user, and for the test currently running on each thread, and counts
+ * retried steps. The run report
+ * is written as JSON to {@code timing.report} (default target/performance/timings.json)
+ * when the JVM exits.
+ */
+public class Timings {
+
+    private static final Logger logger = LoggerFactory.getLogger(Timings.class);
+    private static final String NO_USER = "-";
+    private static final Map<String, LatencyHistogram> steps = new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, LatencyHistogram>> userSteps = new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, AtomicLong>> retries = new ConcurrentHashMap<>();
+    private static final ThreadLocal<String> currentUser = new ThreadLocal<>();
+    private static final ThreadLocal<TestTimings> currentTest = new ThreadLocal<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(Timings::writeReport, "timing-report"));
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private Timings() {
+    }
+
+    /**
+     * Time a step that returns a value
+     *
+     * @param step   step name
+     * @param action the step
+     * @param <T>    result type
+     * @return the step's result
+     */
+    public static <T> T time(String step, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            record(step, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Time a step
+     *
+     * @param step   step name
+     * @param action the step
+     */
+    public static void time(String step, Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            record(step, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Record a step latency for the run, the current user and the current test
+     *
+     * @param step  step name
+     * @param nanos latency in nanoseconds
+     */
+    public static void record(String step, long nanos) {
+        recordMicros(step, nanos / 1000);
+    }
+
+    /**
+     * Record a step latency measured in milliseconds, e.g. by the browser
+     *
+     * @param step   step name
+     * @param millis latency in milliseconds
+     */
+    public static void recordMillis(String step, double millis) {
+        recordMicros(step, Math.round(millis * 1000));
+    }
+
+    private static void recordMicros(String step, long micros) {
+        steps.computeIfAbsent(step, key -> new LatencyHistogram()).record(micros);
+        String user = currentUser.get();
+        userSteps.computeIfAbsent(user == null ? NO_USER : user, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(step, key -> new LatencyHistogram())
+                .record(micros);
+        TestTimings test = currentTest.get();
+        if (test != null) {
+            test.record(step, micros);
+        }
+    }
+
+    /**
+     * Count a retry of a step
+     *
+     * @param step step name
+     * @param kind why the step was retried, or how the retries ended
+     */
+    public static void recordRetry(String step, String kind) {
+        retries.computeIfAbsent(step, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(kind, key -> new AtomicLong())
+                .incrementAndGet();
+    }
+
+    /**
+     * Get the number of retries of a step
+     *
+     * @param step step name
+     * @param kind why the step was retried
+     * @return number of retries in this run
+     */
+    public static long getRetries(String step, String kind) {
+        Map<String, AtomicLong> forStep = retries.get(step);
+        AtomicLong count = forStep == null ? null : forStep.get(kind);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Attribute following timings on this thread to a user
+     *
+     * @param username the user, or null to clear
+     */
+    public static void setCurrentUser(String username) {
+        if (username == null) {
+            currentUser.remove();
+        } else {
+            currentUser.set(username);
+        }
+    }
+
+    /**
+     * Start collecting timings for a test running on this thread
+     *
+     * @param testName name of the test
+     */
+    public static void startTest(String testName) {
+        currentTest.set(new TestTimings(testName));
+        currentUser.remove();
+    }
+
+    /**
+     * Stop collecting timings for the test running on this thread
+     *
+     * @return timings of the test, or null if none was started
+     */
+    public static TestTimings finishTest() {
+        TestTimings test = currentTest.get();
+        currentTest.remove();
+        currentUser.remove();
+        return test;
+    }
+
+    /**
+     * @return timings of the test running on this thread, or null
+     */
+    public static TestTimings currentTest() {
+        return currentTest.get();
+    }
+
+    /**
+     * Get the run-wide histogram of a step
+     *
+     * @param step step name
+     * @return histogram, or null if the step was never recorded
+     */
+    public static LatencyHistogram getStep(String step) {
+        return steps.get(step);
+    }
+
+    /**
+     * Get the run-wide histogram of a step for one user
+     *
+     * @param username the user
+     * @param step     step name
+     * @return histogram, or null if the step was never recorded for the user
+     */
+    public static LatencyHistogram getStep(String username, String step) {
+        Map<String, LatencyHistogram> forUser = userSteps.get(username);
+        return forUser == null ? null : forUser.get(step);
+    }
+
+    /**
+     * @return machine-readable summary of the run: per step, per user and step, and retries per step
+     */
+    public static Map<String, Object> toReport() {
+        Map<String, Object> stepSummaries = new TreeMap<>();
+        steps.forEach((step, histogram) -> stepSummaries.put(step, histogram.toSummary()));
+        Map<String, Object> userSummaries = new TreeMap<>();
+        userSteps.forEach((user, forUser) -> {
+            Map<String, Object> summaries = new TreeMap<>();
+            forUser.forEach((step, histogram) -> summaries.put(step, histogram.toSummary()));
+            userSummaries.put(user, summaries);
+        });
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("steps", stepSummaries);
+        report.put("users", userSummaries);
+        Map<String, Object> retrySummaries = new TreeMap<>();
+        retries.forEach((step, kinds) -> {
+            Map<String, Object> counts = new TreeMap<>();
+            kinds.forEach((kind, count) -> counts.put(kind, count.get()));
+            retrySummaries.put(step, counts);
+        });
+        report.put("retries", retrySummaries);
+        return report;
+    }
+
+    /**
+     * Serialize a report to JSON
+     *
+     * @param report report map
+     * @return JSON text
+     */
+    public static String toJson(Map<String, Object> report) {
+        return new Json().toJson(report);
+    }
+
+    /**
+     * Write the run report to {@code timing.report}
+     */
+    public static void writeReport() {
+        if (steps.isEmpty()) {
+            return;
+        }
+        Path file = Paths.get(BrowserConfig.get("timing.report", "target/performance/timings.json"));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, toJson(toReport()).getBytes(StandardCharsets.UTF_8));
+            logger.info("Timing report written to {}", file.toAbsolutePath());
+        } catch (IOException e) {
+            logger.warn("Could not write timing report {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.saucedemo.network;
+
+import com.saucedemo.config.BrowserConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AssetStore keeps static responses (scripts, styles, images, fonts) on disk in
+ * {@code network.cache.dir}, so later navigations, tests and runs get them without
+ * touching the network. Entries are also kept in memory once read.
+ */
+public class AssetStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(AssetStore.class);
+    private static AssetStore shared;
+
+    private final Path dir;
+    private final Map<String, Asset> memory = new ConcurrentHashMap<>();
+
+    /**
+     * A stored response
+     */
+    public static final class Asset {
+        private final byte[] body;
+        private final String contentType;
+        private final long fetchMillis;
+
+        /**
+         * Constructor
+         *
+         * @param body        response body
+         * @param contentType Content-Type header, may be null
+         * @param fetchMillis how long the original request took
+         */
+        public Asset(byte[] body, String contentType, long fetchMillis) {
+            this.body = body;
+            this.contentType = contentType;
+            this.fetchMillis = fetchMillis;
+        }
+
+        /**
+         * @return response body
+         */
+        public byte[] getBody() {
+            return body;
+        }
+
+        /**
+         * @return Content-Type header, may be null
+         */
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * @return how long the original request took in milliseconds
+         */
+        public long getFetchMillis() {
+            return fetchMillis;
+        }
+    }
+
+    /**
+     * Constructor
+     *
+     * @param dir directory of the stored assets
+     */
+    public AssetStore(Path dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Get the JVM-wide store in {@code network.cache.dir}
+     *
+     * @return shared store
+     */
+    public static synchronized AssetStore shared() {
+        if (shared == null) {
+            shared = new AssetStore(Paths.get(BrowserConfig.get("network.cache.dir", "target/asset-cache")));
+        }
+        return shared;
+    }
+
+    /**
+     * Look up a stored response
+     *
+     * @param url request URL
+     * @return stored asset, or null if the URL has not been stored
+     */
+    public Asset get(String url) {
+        Asset asset = memory.get(url);
+        if (asset != null) {
+            return asset;
+        }
+        asset = read(url);
+        if (asset != null) {
+            memory.put(url, asset);
+        }
+        return asset;
+    }
+
+    /**
+     * Store a response in memory and on disk
+     *
+     * @param url   request URL
+     * @param asset the response
+     */
+    public void put(String url, Asset asset) {
+        memory.put(url, asset);
+        String name = fileName(url);
+        Properties meta = new Properties();
+        meta.setProperty("url", url);
+        meta.setProperty("fetchMillis", String.valueOf(asset.getFetchMillis()));
+        if (asset.getContentType() != null) {
+            meta.setProperty("contentType", asset.getContentType());
+        }
+        try {
+            Files.createDirectories(dir);
+            Files.write(dir.resolve(name + ".body"), asset.getBody());
+            try (OutputStream out = Files.newOutputStream(dir.resolve(name + ".properties"))) {
+                meta.store(out, null);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not store asset {}: {}", url, e.getMessage());
+        }
+    }
+
+    private Asset read(String url) {
+        String name = fileName(url);
+        Path body = dir.resolve(name + ".body");
+        Path metaFile = dir.resolve(name + ".properties");
+        if (!Files.isRegularFile(body) || !Files.isRegularFile(metaFile)) {
+            return null;
+        }
+        Properties meta = new Properties();
+        try (InputStream in = Files.newInputStream(metaFile)) {
+            meta.load(in);
+            return new Asset(Files.readAllBytes(body), meta.getProperty("contentType"),
+                    Long.parseLong(meta.getProperty("fetchMillis", "0")));
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Ignoring unreadable asset {}: {}", url, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String fileName(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            return String.format("%064x", new BigInteger(1, digest));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
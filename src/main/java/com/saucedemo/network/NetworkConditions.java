@@ -0,0 +1,41 @@
+package com.saucedemo.network;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the network rules of a test class or method, overriding the
+ * {@code network.*} configuration. Attributes left empty keep the configured value.
+ * URL patterns are globs matched against the full request URL, e.g. {@code *.png}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface NetworkConditions {
+
+    /**
+     * @return false to let every request through unchanged
+     */
+    boolean enabled() default true;
+
+    /**
+     * @return URL patterns answered with an empty response
+     */
+    String[] block() default {};
+
+    /**
+     * @return URL patterns served from the local asset store once fetched
+     */
+    String[] cache() default {};
+
+    /**
+     * @return URL patterns delayed by {@link #delayMillis()}
+     */
+    String[] delay() default {};
+
+    /**
+     * @return latency added to delayed requests, -1 to keep the configured value
+     */
+    long delayMillis() default -1;
+}
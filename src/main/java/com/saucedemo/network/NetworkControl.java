@@ -0,0 +1,220 @@
+package com.saucedemo.network;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * NetworkControl intercepts the requests of a Chrome session through DevTools and
+ * applies the {@link NetworkRules} of the running test: matching requests are blocked,
+ * served from the {@link AssetStore}, or delayed. While the interceptor is installed,
+ * every request of the session is paused in the browser and round-trips to Java to be
+ * matched; requests without a matching rule then continue without their body passing
+ * through Java. The interceptor is installed on a driver the first time a test with
+ * active rules navigates, and stays with the driver while it is recycled, with the
+ * rules swapped per navigation. A navigation without active rules uninstalls it, so
+ * tests without rules do not pay for the interception.
+ */
+public class NetworkControl {
+
+    private static final Logger logger = LoggerFactory.getLogger(NetworkControl.class);
+    private static final String TRANSFERRED_BYTES_SCRIPT =
+            "var total = 0;"
+            + "window.performance.getEntriesByType('navigation')"
+            + "  .concat(window.performance.getEntriesByType('resource'))"
+            + "  .forEach(function (entry) { total += entry.transferSize || 0; });"
+            + "return total;";
+    private static final NetworkRules configuredRules = NetworkRules.fromConfig();
+    private static final ThreadLocal<NetworkConditions> testConditions = new ThreadLocal<>();
+    private static final Map<WebDriver, NetworkControl> controls = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final AtomicBoolean unsupportedLogged = new AtomicBoolean();
+    private static final NetworkStats totals = new NetworkStats();
+    private static final ThreadLocal<NetworkStats> lastNavigation = new ThreadLocal<>();
+
+    // Referenced so the interception lives as long as the control, closed to uninstall it
+    private final NetworkInterceptor interceptor;
+    private final AssetStore store = AssetStore.shared();
+    private volatile NetworkRules rules = NetworkRules.none();
+    private volatile NetworkStats current = new NetworkStats();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (totals.getRequests() > 0) {
+                logger.info("Network control: {}", totals);
+            }
+        }, "network-control-summary"));
+    }
+
+    private NetworkControl(WebDriver driver) {
+        this.interceptor = new NetworkInterceptor(driver, (Filter) this::intercept);
+    }
+
+    /**
+     * Set the network rules of the test running on the current thread
+     *
+     * @param conditions the test's annotation, or null for the configured rules
+     */
+    public static void setTestConditions(NetworkConditions conditions) {
+        testConditions.set(conditions);
+    }
+
+    /**
+     * Go back to the configured rules on the current thread
+     */
+    public static void clearTestConditions() {
+        testConditions.remove();
+    }
+
+    /**
+     * @return rules of the test running on the current thread
+     */
+    public static NetworkRules currentRules() {
+        return configuredRules.with(testConditions.get());
+    }
+
+    /**
+     * Apply the current thread's rules to a driver before a navigation, installing the
+     * interceptor on first use and uninstalling it when there are no active rules
+     *
+     * @param driver the driver about to navigate
+     * @return control collecting the navigation's statistics, or null if nothing is intercepted
+     */
+    public static NetworkControl prepare(WebDriver driver) {
+        lastNavigation.remove();
+        NetworkRules rules = currentRules();
+        NetworkControl control = controls.get(driver);
+        if (control != null && !rules.isActive()) {
+            controls.remove(driver);
+            control.uninstall();
+            return null;
+        }
+        if (control == null) {
+            if (!rules.isActive()) {
+                return null;
+            }
+            if (!(driver instanceof HasDevTools)) {
+                if (unsupportedLogged.compareAndSet(false, true)) {
+                    logger.warn("{} has no DevTools support, network rules are ignored",
+                            driver.getClass().getSimpleName());
+                }
+                return null;
+            }
+            logger.info("Installing network interceptor ({})", rules);
+            control = new NetworkControl(driver);
+            controls.put(driver, control);
+        }
+        control.rules = rules;
+        control.current = new NetworkStats();
+        return control;
+    }
+
+    /**
+     * Finish the statistics of the navigation started with {@link #prepare(WebDriver)}
+     *
+     * @param driver the driver that navigated
+     * @return what happened to the navigation's requests
+     */
+    public NetworkStats finishNavigation(WebDriver driver) {
+        NetworkStats stats = current;
+        if (driver instanceof JavascriptExecutor) {
+            try {
+                Object transferred = ((JavascriptExecutor) driver).executeScript(TRANSFERRED_BYTES_SCRIPT);
+                if (transferred instanceof Number) {
+                    stats.recordTransferred(((Number) transferred).longValue());
+                }
+            } catch (Exception e) {
+                logger.debug("Resource timing not available: {}", e.getMessage());
+            }
+        }
+        totals.add(stats);
+        lastNavigation.set(stats);
+        return stats;
+    }
+
+    /**
+     * @return statistics of the current thread's last navigation, or null if it was not intercepted
+     */
+    public static NetworkStats getLastNavigationStats() {
+        return lastNavigation.get();
+    }
+
+    /**
+     * Stop intercepting, so the browser no longer pauses the session's requests
+     */
+    private void uninstall() {
+        logger.info("Uninstalling network interceptor, no active rules");
+        try {
+            interceptor.close();
+        } catch (RuntimeException e) {
+            logger.debug("Could not uninstall network interceptor: {}", e.getMessage());
+        }
+    }
+
+    private HttpHandler intercept(HttpHandler next) {
+        return request -> {
+            NetworkRules active = rules;
+            NetworkStats stats = current;
+            String url = request.getUri();
+            if (active.isBlocked(url)) {
+                stats.recordBlocked();
+                return new HttpResponse().setStatus(204);
+            }
+            long delay = active.delayFor(url);
+            if (delay > 0) {
+                pause(delay);
+                stats.recordDelay(delay);
+            }
+            if (active.isCached(url) && request.getMethod() == HttpMethod.GET) {
+                AssetStore.Asset asset = store.get(url);
+                if (asset != null) {
+                    stats.recordFromCache(asset.getBody().length, asset.getFetchMillis());
+                    return toResponse(asset);
+                }
+                long start = System.nanoTime();
+                HttpResponse response = next.execute(request);
+                if (response.getStatus() == 200) {
+                    byte[] body = Contents.bytes(response.getContent());
+                    store.put(url, new AssetStore.Asset(body, response.getHeader("Content-Type"),
+                            (System.nanoTime() - start) / 1_000_000));
+                    response.setContent(Contents.bytes(body));
+                }
+                stats.recordPassed();
+                return response;
+            }
+            stats.recordPassed();
+            return NetworkInterceptor.PROCEED_WITH_REQUEST;
+        };
+    }
+
+    private static HttpResponse toResponse(AssetStore.Asset asset) {
+        HttpResponse response = new HttpResponse().setStatus(200);
+        if (asset.getContentType() != null) {
+            response.setHeader("Content-Type", asset.getContentType());
+        }
+        // Cached fonts and scripts may be requested cross-origin
+        response.setHeader("Access-Control-Allow-Origin", "*");
+        response.setContent(Contents.bytes(asset.getBody()));
+        return response;
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.saucedemo.network;
+
+import com.saucedemo.config.BrowserConfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * NetworkRules decides what happens to a browser request: blocked, served from
+ * the {@link AssetStore}, delayed, or passed through. Patterns are globs where
+ * {@code *} matches any characters, matched against the full URL.
+ */
+public class NetworkRules {
+
+    private static final NetworkRules NONE = new NetworkRules(false, Collections.emptyList(),
+            Collections.emptyList(), Collections.emptyList(), 0);
+
+    private final boolean enabled;
+    private final List<String> block;
+    private final List<String> cache;
+    private final List<String> delay;
+    private final long delayMillis;
+    private final List<Pattern> blockPatterns;
+    private final List<Pattern> cachePatterns;
+    private final List<Pattern> delayPatterns;
+
+    /**
+     * Constructor
+     *
+     * @param enabled     false to pass every request through unchanged
+     * @param block       URL patterns answered with an empty response
+     * @param cache       URL patterns served from the asset store
+     * @param delay       URL patterns delayed by delayMillis
+     * @param delayMillis latency added to delayed requests
+     */
+    public NetworkRules(boolean enabled, List<String> block, List<String> cache, List<String> delay,
+                        long delayMillis) {
+        this.enabled = enabled;
+        this.block = new ArrayList<>(block);
+        this.cache = new ArrayList<>(cache);
+        this.delay = new ArrayList<>(delay);
+        this.delayMillis = delayMillis;
+        this.blockPatterns = compile(block);
+        this.cachePatterns = compile(cache);
+        this.delayPatterns = compile(delay);
+    }
+
+    /**
+     * @return rules that leave all requests alone
+     */
+    public static NetworkRules none() {
+        return NONE;
+    }
+
+    /**
+     * Read the rules from {@code network.enabled}, {@code network.block}, {@code network.cache},
+     * {@code network.delay} and {@code network.delayMillis}
+     *
+     * @return configured rules
+     */
+    public static NetworkRules fromConfig() {
+        return new NetworkRules(BrowserConfig.getBoolean("network.enabled", false),
+                split(BrowserConfig.get("network.block", "")),
+                split(BrowserConfig.get("network.cache", "")),
+                split(BrowserConfig.get("network.delay", "")),
+                BrowserConfig.getLong("network.delayMillis", 0));
+    }
+
+    /**
+     * Apply a test's annotation on top of these rules
+     *
+     * @param conditions the annotation of the test, may be null
+     * @return combined rules
+     */
+    public NetworkRules with(NetworkConditions conditions) {
+        if (conditions == null) {
+            return this;
+        }
+        if (!conditions.enabled()) {
+            return NONE;
+        }
+        return new NetworkRules(true,
+                conditions.block().length > 0 ? Arrays.asList(conditions.block()) : block,
+                conditions.cache().length > 0 ? Arrays.asList(conditions.cache()) : cache,
+                conditions.delay().length > 0 ? Arrays.asList(conditions.delay()) : delay,
+                conditions.delayMillis() >= 0 ? conditions.delayMillis() : delayMillis);
+    }
+
+    /**
+     * @return true if requests have to be intercepted at all
+     */
+    public boolean isActive() {
+        return enabled && !(blockPatterns.isEmpty() && cachePatterns.isEmpty()
+                && (delayPatterns.isEmpty() || delayMillis <= 0));
+    }
+
+    /**
+     * @param url request URL
+     * @return true if the request is answered with an empty response
+     */
+    public boolean isBlocked(String url) {
+        return matches(blockPatterns, url);
+    }
+
+    /**
+     * @param url request URL
+     * @return true if the response may be served from the asset store
+     */
+    public boolean isCached(String url) {
+        return matches(cachePatterns, url);
+    }
+
+    /**
+     * @param url request URL
+     * @return latency to add in milliseconds, 0 for none
+     */
+    public long delayFor(String url) {
+        return delayMillis > 0 && matches(delayPatterns, url) ? delayMillis : 0;
+    }
+
+    @Override
+    public String toString() {
+        if (!isActive()) {
+            return "none";
+        }
+        return "block " + block + ", cache " + cache + ", delay " + delay + " by " + delayMillis + " ms";
+    }
+
+    private static boolean matches(List<Pattern> patterns, String url) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Pattern> compile(List<String> globs) {
+        return globs.stream()
+                .map(glob -> Pattern.compile(Arrays.stream(glob.split("\\*", -1))
+                        .map(Pattern::quote)
+                        .collect(Collectors.joining(".*"))))
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> split(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(glob -> !glob.isEmpty())
+                .collect(Collectors.toList());
+    }
+}
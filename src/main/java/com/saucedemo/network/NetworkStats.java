@@ -0,0 +1,114 @@
+package com.saucedemo.network;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * NetworkStats counts what the {@link NetworkControl} did with the requests of one
+ * navigation, or of the whole run. Updated from the DevTools event thread.
+ */
+public class NetworkStats {
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong blocked = new AtomicLong();
+    private final AtomicLong fromCache = new AtomicLong();
+    private final AtomicLong bytesFromCache = new AtomicLong();
+    private final AtomicLong bytesTransferred = new AtomicLong();
+    private final AtomicLong fetchMillisSaved = new AtomicLong();
+    private final AtomicLong delayMillis = new AtomicLong();
+
+    void recordBlocked() {
+        requests.incrementAndGet();
+        blocked.incrementAndGet();
+    }
+
+    void recordFromCache(long bytes, long fetchMillis) {
+        requests.incrementAndGet();
+        fromCache.incrementAndGet();
+        bytesFromCache.addAndGet(bytes);
+        fetchMillisSaved.addAndGet(fetchMillis);
+    }
+
+    void recordPassed() {
+        requests.incrementAndGet();
+    }
+
+    void recordTransferred(long bytes) {
+        bytesTransferred.addAndGet(bytes);
+    }
+
+    void recordDelay(long millis) {
+        delayMillis.addAndGet(millis);
+    }
+
+    /**
+     * Add another navigation's counters to these
+     *
+     * @param other counters to add
+     */
+    void add(NetworkStats other) {
+        requests.addAndGet(other.getRequests());
+        blocked.addAndGet(other.getBlocked());
+        fromCache.addAndGet(other.getFromCache());
+        bytesFromCache.addAndGet(other.getBytesFromCache());
+        bytesTransferred.addAndGet(other.getBytesTransferred());
+        fetchMillisSaved.addAndGet(other.getFetchMillisSaved());
+        delayMillis.addAndGet(other.getDelayMillis());
+    }
+
+    /**
+     * @return number of intercepted requests
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * @return number of requests answered with an empty response
+     */
+    public long getBlocked() {
+        return blocked.get();
+    }
+
+    /**
+     * @return number of requests served from the asset store
+     */
+    public long getFromCache() {
+        return fromCache.get();
+    }
+
+    /**
+     * @return response bytes served from the asset store
+     */
+    public long getBytesFromCache() {
+        return bytesFromCache.get();
+    }
+
+    /**
+     * @return bytes the browser transferred over the network, from Resource Timing
+     */
+    public long getBytesTransferred() {
+        return bytesTransferred.get();
+    }
+
+    /**
+     * @return summed original fetch time of the responses served from the asset store
+     */
+    public long getFetchMillisSaved() {
+        return fetchMillisSaved.get();
+    }
+
+    /**
+     * @return summed latency added to delayed requests
+     */
+    public long getDelayMillis() {
+        return delayMillis.get();
+    }
+
+    @Override
+    public String toString() {
+        return requests + " request(s): " + blocked + " blocked, " + fromCache + " from cache ("
+                + bytesFromCache.get() / 1024 + " KB, " + fetchMillisSaved + " ms of fetches saved), "
+                + (requests.get() - blocked.get() - fromCache.get()) + " from network, "
+                + bytesTransferred.get() / 1024 + " KB transferred, " + delayMillis + " ms latency added";
+    }
+}
@@ -1,15 +1,27 @@
 package com.saucedemo.pages;
 
+import com.saucedemo.config.BrowserConfig;
 import com.saucedemo.config.DriverManager;
+import com.saucedemo.metrics.Timings;
+import com.saucedemo.network.NetworkControl;
+import com.saucedemo.network.NetworkStats;
+import com.saucedemo.utils.ActionJournal;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * BasePage contains common methods and elements for all pages.
@@ -17,29 +29,99 @@ import java.time.Duration;
  */
 public class BasePage {
 
+    private static final String FILL_AND_CLICK_SCRIPT =
+            LocatorScripts.FIND_FUNCTION
+            + "var fields = arguments[0], button = arguments[1];"
+            + "var setter = Object.getOwnPropertyDescriptor(HTMLInputElement.prototype, 'value').set;"
+            + "for (var i = 0; i < fields.length; i++) {"
+            + "  var element = find(fields[i][0], fields[i][1]);"
+            + "  if (!element) { return i; }"
+            + "  element.focus();"
+            + "  setter.call(element, fields[i][2]);"
+            + "  element.dispatchEvent(new Event('input', {bubbles: true}));"
+            + "  element.dispatchEvent(new Event('change', {bubbles: true}));"
+            + "  element.blur();"
+            + "}"
+            + "var target = find(button[0], button[1]);"
+            + "if (!target) { return fields.length; }"
+            + "target.click();"
+            + "return -1;";
+    private static final String NAVIGATION_TIMING_SCRIPT =
+            "var navigation = window.performance.getEntriesByType('navigation')[0];"
+            + "if (!navigation) { return null; }"
+            + "var metrics = {"
+            + "  'ttfb': navigation.responseStart,"
+            + "  'domContentLoaded': navigation.domContentLoadedEventEnd,"
+            + "  'load': navigation.loadEventEnd"
+            + "};"
+            + "window.performance.getEntriesByType('paint').forEach(function (entry) {"
+            + "  metrics[entry.name] = entry.startTime;"
+            + "});"
+            + "return metrics;";
+
     protected static final Logger logger = LoggerFactory.getLogger(BasePage.class);
+    private static final StepRetryPolicy retryPolicy = StepRetryPolicy.fromConfig();
+    // A click that timed out may still have gone through, so it is never sent twice
+    private static final StepRetryPolicy clickRetryPolicy = retryPolicy.without(StepRetryPolicy.Failure.TIMEOUT);
     protected WebDriver driver;
-    protected WebDriverWait wait;
+    protected WaitEngine waits;
+    protected final ElementCache elementCache = new ElementCache();
     protected static final long TIMEOUT_SECONDS = 10;
 
     /**
-     * Constructor initializing WebDriver and WebDriverWait
+     * Constructor initializing WebDriver and WaitEngine
      */
     public BasePage() {
         this.driver = DriverManager.getDriver();
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(TIMEOUT_SECONDS));
+        this.waits = new WaitEngine(driver, Duration.ofSeconds(TIMEOUT_SECONDS));
         logger.debug("BasePage initialized");
     }
 
     /**
-     * Navigate to URL
+     * Navigate to URL, applying the test's network rules (see {@link NetworkControl})
      *
      * @param url the URL to navigate to
      */
     public void navigateTo(String url) {
         logger.info("Navigating to URL: {}", url);
-        driver.navigate().to(url);
-        logger.debug("Page loaded: {}", driver.getTitle());
+        ActionJournal.record("navigate", url);
+        elementCache.clear();
+        NetworkControl network = url.startsWith("about:") ? null : NetworkControl.prepare(driver);
+        Timings.time("navigate", () -> driver.navigate().to(url));
+        if (network != null) {
+            NetworkStats stats = network.finishNavigation(driver);
+            logger.info("Network of {}: {}", url, stats);
+        }
+        if (logger.isDebugEnabled()) {
+            // getTitle() is a WebDriver round-trip, only spend it when the line is written
+            logger.debug("Page loaded: {}", driver.getTitle());
+        }
+        if (!url.startsWith("about:") && BrowserConfig.getBoolean("timing.navigationMetrics", true)) {
+            recordNavigationMetrics();
+        }
+    }
+
+    /**
+     * Record the browser's Navigation Timing and Paint Timing metrics of the current page
+     */
+    @SuppressWarnings("unchecked")
+    private void recordNavigationMetrics() {
+        if (!(driver instanceof JavascriptExecutor)) {
+            return;
+        }
+        try {
+            Map<String, Object> metrics = (Map<String, Object>) ((JavascriptExecutor) driver)
+                    .executeScript(NAVIGATION_TIMING_SCRIPT);
+            if (metrics != null) {
+                metrics.forEach((name, value) -> {
+                    if (value instanceof Number && ((Number) value).doubleValue() > 0) {
+                        Timings.recordMillis("browser." + name, ((Number) value).doubleValue());
+                    }
+                });
+            }
+        } catch (Exception e) {
+            logger.debug("Navigation timing not available: {}", e.getMessage());
+        }
     }
 
     /**
@@ -50,7 +132,15 @@ public class BasePage {
      */
     protected WebElement waitForElementVisible(By locator) {
         logger.debug("Waiting for element to be visible: {}", locator);
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return Timings.time("wait.visible", () -> {
+            WebElement cached = elementCache.get(locator, WebElement::isDisplayed);
+            if (cached != null) {
+                return cached;
+            }
+            WebElement element = waits.until(ExpectedConditions.visibilityOfElementLocated(locator), locator);
+            elementCache.put(locator, element);
+            return element;
+        });
     }
 
     /**
@@ -61,7 +151,15 @@ public class BasePage {
      */
     protected WebElement waitForElementClickable(By locator) {
         logger.debug("Waiting for element to be clickable: {}", locator);
-        return wait.until(ExpectedConditions.elementToBeClickable(locator));
+        return Timings.time("wait.clickable", () -> {
+            WebElement cached = elementCache.get(locator, element -> element.isDisplayed() && element.isEnabled());
+            if (cached != null) {
+                return cached;
+            }
+            WebElement element = waits.until(ExpectedConditions.elementToBeClickable(locator), locator);
+            elementCache.put(locator, element);
+            return element;
+        });
     }
 
     /**
@@ -72,7 +170,8 @@ public class BasePage {
      */
     protected WebElement waitForElementPresent(By locator) {
         logger.debug("Waiting for element to be present: {}", locator);
-        return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+        return Timings.time("wait.present",
+                () -> waits.until(ExpectedConditions.presenceOfElementLocated(locator), locator));
     }
 
     /**
@@ -83,9 +182,12 @@ public class BasePage {
      */
     protected void typeText(By locator, String text) {
         logger.debug("Typing text into element: {} with text: {}", locator, text);
-        WebElement element = waitForElementVisible(locator);
-        element.clear();
-        element.sendKeys(text);
+        ActionJournal.record("type", locator);
+        withElement("action.type", locator, this::waitForElementVisible, element -> {
+            element.clear();
+            element.sendKeys(text);
+            return null;
+        });
     }
 
     /**
@@ -95,8 +197,100 @@ public class BasePage {
      */
     protected void clickElement(By locator) {
         logger.debug("Clicking on element: {}", locator);
-        WebElement element = waitForElementClickable(locator);
-        element.click();
+        ActionJournal.record("click", locator);
+        withElement(clickRetryPolicy, "action.click", locator, this::waitForElementClickable, element -> {
+            element.click();
+            return null;
+        });
+        // The click may have navigated or re-rendered the page
+        elementCache.clear();
+    }
+
+    /**
+     * Time a step that runs an action on a looked-up element, retrying it after
+     * transient failures (see {@link StepRetryPolicy}). The element is resolved
+     * again before every retry.
+     *
+     * @param step    step name used in the run report
+     * @param locator the element locator
+     * @param lookup  resolves the element, possibly from the cache
+     * @param action  the action to perform
+     * @param <T>     action result type
+     * @return the action result
+     */
+    private <T> T withElement(String step, By locator, Function<By, WebElement> lookup,
+                              Function<WebElement, T> action) {
+        return withElement(retryPolicy, step, locator, lookup, action);
+    }
+
+    /**
+     * Same as {@link #withElement(String, By, Function, Function)} with a step-specific retry policy
+     */
+    private <T> T withElement(StepRetryPolicy policy, String step, By locator, Function<By, WebElement> lookup,
+                              Function<WebElement, T> action) {
+        return Timings.time(step, () -> policy.run(step, () -> action.apply(lookup.apply(locator)),
+                failure -> {
+                    logger.debug("Retrying {} on {} after {}", step, locator, failure.key());
+                    elementCache.invalidate(locator);
+                }));
+    }
+
+    /**
+     * Fill several input fields and click an element in a single script round-trip.
+     * Values are set through the native value setter followed by input and change
+     * events, so framework-managed (e.g. React) form state is updated.
+     * Falls back to {@link #typeText} and {@link #clickElement} for locators that
+     * cannot be evaluated in the browser.
+     *
+     * @param fields  input locators mapped to the values to enter, in order
+     * @param button  the element to click afterwards
+     */
+    protected void fillAndClick(Map<By, String> fields, By button) {
+        logger.debug("Filling {} field(s) and clicking {} in one script", fields.size(), button);
+        ActionJournal.record("fillAndClick", button);
+        Timings.time("action.fillAndClick", () -> doFillAndClick(fields, button));
+    }
+
+    private void doFillAndClick(Map<By, String> fields, By button) {
+        List<Object> fieldArguments = new ArrayList<>();
+        List<By> locators = new ArrayList<>(fields.keySet());
+        for (Map.Entry<By, String> field : fields.entrySet()) {
+            List<String> locator = LocatorScripts.toScriptArguments(field.getKey());
+            if (locator == null) {
+                fillAndClickStepwise(fields, button);
+                return;
+            }
+            List<String> argument = new ArrayList<>(locator);
+            argument.add(field.getValue());
+            fieldArguments.add(argument);
+        }
+        List<String> buttonArgument = LocatorScripts.toScriptArguments(button);
+        if (buttonArgument == null || !(driver instanceof JavascriptExecutor)) {
+            fillAndClickStepwise(fields, button);
+            return;
+        }
+        locators.add(button);
+
+        JavascriptExecutor executor = (JavascriptExecutor) driver;
+        int missing = ((Number) executor.executeScript(FILL_AND_CLICK_SCRIPT, fieldArguments, buttonArgument))
+                .intValue();
+        if (missing >= 0) {
+            // Form not rendered yet: wait for the missing element once, then retry
+            waitForElementVisible(locators.get(missing));
+            missing = ((Number) executor.executeScript(FILL_AND_CLICK_SCRIPT, fieldArguments, buttonArgument))
+                    .intValue();
+            if (missing >= 0) {
+                throw new IllegalStateException("Element not found for batched input: " + locators.get(missing));
+            }
+        }
+        elementCache.clear();
+    }
+
+    private void fillAndClickStepwise(Map<By, String> fields, By button) {
+        for (Map.Entry<By, String> field : fields.entrySet()) {
+            typeText(field.getKey(), field.getValue());
+        }
+        clickElement(button);
     }
 
     /**
@@ -107,8 +301,8 @@ public class BasePage {
      */
     protected String getText(By locator) {
         logger.debug("Getting text from element: {}", locator);
-        WebElement element = waitForElementVisible(locator);
-        return element.getText();
+        ActionJournal.record("getText", locator);
+        return withElement("action.getText", locator, this::waitForElementVisible, WebElement::getText);
     }
 
     /**
@@ -120,8 +314,9 @@ public class BasePage {
      */
     protected String getAttribute(By locator, String attributeName) {
         logger.debug("Getting attribute '{}' from element: {}", attributeName, locator);
-        WebElement element = waitForElementVisible(locator);
-        return element.getAttribute(attributeName);
+        ActionJournal.record("getAttribute", locator);
+        return withElement("action.getAttribute", locator, this::waitForElementVisible,
+                element -> element.getAttribute(attributeName));
     }
 
     /**
@@ -133,13 +328,49 @@ public class BasePage {
     protected boolean isElementDisplayed(By locator) {
         logger.debug("Checking if element is displayed: {}", locator);
         try {
-            return waitForElementVisible(locator).isDisplayed();
+            // waitForElementVisible only returns displayed elements
+            return waitForElementVisible(locator) != null;
         } catch (Exception e) {
             logger.debug("Element not displayed: {}", locator);
             return false;
         }
     }
 
+    /**
+     * Check if element is displayed right now, without waiting
+     *
+     * @param locator the element locator
+     * @return true if a matching element is currently visible
+     */
+    protected boolean isElementPresentNow(By locator) {
+        logger.debug("Checking if element is displayed now: {}", locator);
+        try {
+            return driver.findElements(locator).stream().anyMatch(WebElement::isDisplayed);
+        } catch (StaleElementReferenceException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Wait for the first of several mutually exclusive elements to become visible
+     *
+     * @param locators the candidate element locators
+     * @return the locator of the element that appeared first
+     * @throws TimeoutException if none of the elements appears within the timeout
+     */
+    protected By waitForFirstVisible(By... locators) {
+        List<By> candidates = Arrays.asList(locators);
+        logger.debug("Waiting for first visible element of: {}", candidates);
+        return Timings.time("wait.firstVisible", () -> waits.until(webDriver -> {
+            for (By candidate : candidates) {
+                if (isElementPresentNow(candidate)) {
+                    return candidate;
+                }
+            }
+            return null;
+        }, null));
+    }
+
     /**
      * Get current page title
      *
@@ -0,0 +1,124 @@
+package com.saucedemo.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * ElementCache keeps resolved WebElements of one page object, keyed by locator.
+ * A cached element is only returned after it passes the caller's check, which
+ * doubles as a staleness probe; stale entries are dropped and re-resolved.
+ * The cache is cleared whenever the page may have navigated.
+ */
+public class ElementCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ElementCache.class);
+    private static final AtomicLong totalHits = new AtomicLong();
+    private static final AtomicLong totalMisses = new AtomicLong();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ElementCache::logSummary, "element-cache-stats"));
+    }
+
+    private final Map<By, WebElement> elements = new HashMap<>();
+    private long hits;
+    private long misses;
+
+    /**
+     * Get a cached element if it is still attached and passes the check
+     *
+     * @param locator the element locator
+     * @param check   condition the element must satisfy, e.g. being displayed
+     * @return the cached element, or null if it must be resolved again
+     */
+    public WebElement get(By locator, Predicate<WebElement> check) {
+        WebElement element = elements.get(locator);
+        if (element != null) {
+            try {
+                if (check.test(element)) {
+                    hits++;
+                    totalHits.incrementAndGet();
+                    return element;
+                }
+            } catch (StaleElementReferenceException e) {
+                logger.debug("Cached element is stale: {}", locator);
+                elements.remove(locator);
+            }
+        }
+        misses++;
+        totalMisses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Store a resolved element
+     *
+     * @param locator the element locator
+     * @param element the resolved element
+     */
+    public void put(By locator, WebElement element) {
+        elements.put(locator, element);
+    }
+
+    /**
+     * Drop a single cached element
+     *
+     * @param locator the element locator
+     */
+    public void invalidate(By locator) {
+        elements.remove(locator);
+    }
+
+    /**
+     * Drop all cached elements, e.g. after a navigation
+     */
+    public void clear() {
+        elements.clear();
+    }
+
+    /**
+     * @return number of lookups served from this cache
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return number of lookups that had to query the browser
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return lookups served from any page's cache
+     */
+    public static long getTotalHits() {
+        return totalHits.get();
+    }
+
+    /**
+     * @return lookups that had to query the browser, across all pages
+     */
+    public static long getTotalMisses() {
+        return totalMisses.get();
+    }
+
+    /**
+     * Log cache hits and misses across all pages
+     */
+    public static void logSummary() {
+        long lookups = totalHits.get() + totalMisses.get();
+        if (lookups > 0) {
+            logger.info("Element cache: {} hit(s), {} miss(es) ({}% hit rate, {} findElement round-trip(s) saved)",
+                    totalHits.get(), totalMisses.get(), totalHits.get() * 100 / lookups, totalHits.get());
+        }
+    }
+}
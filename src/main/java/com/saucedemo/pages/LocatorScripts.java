@@ -0,0 +1,49 @@
+package com.saucedemo.pages;
+
+import org.openqa.selenium.By;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * LocatorScripts translates Selenium locators into arguments for in-browser
+ * scripts. Only locators that resolve to CSS selectors or XPath are supported.
+ */
+class LocatorScripts {
+
+    /**
+     * JavaScript function {@code find(using, value)} resolving a translated locator to an element or null
+     */
+    static final String FIND_FUNCTION =
+            "function find(using, value) {"
+            + "  if (using === 'xpath') {"
+            + "    return document.evaluate(value, document, null,"
+            + "        XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "  }"
+            + "  return document.querySelector(value);"
+            + "}";
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private LocatorScripts() {
+    }
+
+    /**
+     * Translate a locator into {@code [using, value]} script arguments
+     *
+     * @param locator the element locator
+     * @return strategy and value, or null if the locator cannot be evaluated in the browser
+     */
+    static List<String> toScriptArguments(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        String using = parameters.using();
+        if (!"css selector".equals(using) && !"xpath".equals(using) && !"tag name".equals(using)) {
+            return null;
+        }
+        return Arrays.asList(using, String.valueOf(parameters.value()));
+    }
+}
@@ -1,9 +1,17 @@
 package com.saucedemo.pages;
 
+import com.saucedemo.config.BrowserConfig;
+import com.saucedemo.metrics.Timings;
+import com.saucedemo.session.SessionSnapshot;
+import com.saucedemo.session.SessionSnapshotStore;
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * LoginPage represents the login page of SauceDemo.
  * Implements Page Object Model pattern with locators and actions.
@@ -11,7 +19,6 @@ import org.slf4j.LoggerFactory;
 public class LoginPage extends BasePage {
 
     private static final Logger logger = LoggerFactory.getLogger(LoginPage.class);
-    private static final String LOGIN_URL = "https://www.saucedemo.com/";
 
     // Locators
     private static final By USERNAME_INPUT = By.id("user-name");
@@ -21,6 +28,19 @@ public class LoginPage extends BasePage {
     private static final By PAGE_TITLE = By.xpath("//div[@class='login_logo']");
     private static final By INVENTORY_CONTAINER = By.className("inventory_container");
     private static final By PRODUCTS_TITLE = By.xpath("//span[@class='title'][contains(text(), 'Products')]");
+    private static final String INVENTORY_PATH = "inventory.html";
+
+    /**
+     * Mutually exclusive results of a login attempt
+     */
+    public enum LoginOutcome {
+        /** Products page is displayed */
+        SUCCESS,
+        /** Error banner is displayed on the login page */
+        ERROR,
+        /** Neither appeared within the timeout */
+        NONE
+    }
 
     /**
      * Constructor
@@ -34,8 +54,9 @@ public class LoginPage extends BasePage {
      * Open login page
      */
     public void openLoginPage() {
-        logger.info("Opening login page: {}", LOGIN_URL);
-        navigateTo(LOGIN_URL);
+        String loginUrl = BrowserConfig.getBaseUrl();
+        logger.info("Opening login page: {}", loginUrl);
+        navigateTo(loginUrl);
         waitForElementVisible(USERNAME_INPUT);
         logger.info("Login page opened successfully");
     }
@@ -69,18 +90,90 @@ public class LoginPage extends BasePage {
     }
 
     /**
-     * Perform login with username and password
+     * Perform login with username and password.
+     * Uses batched input when {@code interaction.mode=batched}, real keystrokes otherwise.
      *
      * @param username the username
      * @param password the password
      */
     public void login(String username, String password) {
+        Timings.setCurrentUser(username);
+        if ("batched".equalsIgnoreCase(BrowserConfig.get("interaction.mode", "stepwise"))) {
+            Timings.time("login", () -> loginBatched(username, password));
+        } else {
+            Timings.time("login", () -> loginStepwise(username, password));
+        }
+    }
+
+    /**
+     * Perform login by typing into each field and clicking the login button
+     *
+     * @param username the username
+     * @param password the password
+     */
+    public void loginStepwise(String username, String password) {
         logger.info("Performing login with username: {}", username);
         enterUsername(username);
         enterPassword(password);
         clickLoginButton();
     }
 
+    /**
+     * Perform login by filling both fields and clicking the login button in one script call
+     *
+     * @param username the username
+     * @param password the password
+     */
+    public void loginBatched(String username, String password) {
+        logger.info("Performing batched login with username: {}", username);
+        Map<By, String> fields = new LinkedHashMap<>();
+        fields.put(USERNAME_INPUT, username);
+        fields.put(PASSWORD_INPUT, password);
+        fillAndClick(fields, LOGIN_BUTTON);
+    }
+
+    /**
+     * Open the products page as an authenticated user without going through the login form.
+     * The first call per user logs in through the UI and captures cookies and localStorage;
+     * later calls, from any worker, inject the cached snapshot into the current driver.
+     *
+     * @param username the username
+     * @param password the password, used only when a snapshot has to be captured
+     */
+    public void openAuthenticatedSession(String username, String password) {
+        logger.info("Opening authenticated session for {}", username);
+        boolean[] loggedInThroughUi = {false};
+        SessionSnapshot snapshot = SessionSnapshotStore.get(username, () -> {
+            loginThroughUi(username, password);
+            loggedInThroughUi[0] = true;
+            return SessionSnapshot.capture(driver);
+        });
+        if (loggedInThroughUi[0]) {
+            return;
+        }
+
+        String baseUrl = BrowserConfig.getBaseUrl();
+        if (!getCurrentUrl().startsWith(baseUrl)) {
+            // Cookies and localStorage can only be written on the application's origin
+            navigateTo(baseUrl);
+        }
+        snapshot.restoreInto(driver);
+        navigateTo(baseUrl + INVENTORY_PATH);
+        if (!PRODUCTS_TITLE.equals(waitForFirstVisible(PRODUCTS_TITLE, USERNAME_INPUT))) {
+            logger.warn("Session snapshot for {} was rejected, logging in through the UI", username);
+            SessionSnapshotStore.invalidate(username);
+            loginThroughUi(username, password);
+        }
+    }
+
+    private void loginThroughUi(String username, String password) {
+        openLoginPage();
+        login(username, password);
+        if (getLoginOutcome() != LoginOutcome.SUCCESS) {
+            throw new IllegalStateException("Login through the UI failed for " + username);
+        }
+    }
+
     /**
      * Get error message text
      *
@@ -98,7 +191,7 @@ public class LoginPage extends BasePage {
      */
     public boolean isErrorMessageDisplayed() {
         logger.info("Checking if error message is displayed");
-        return isElementDisplayed(ERROR_MESSAGE);
+        return getLoginOutcome() == LoginOutcome.ERROR;
     }
 
     /**
@@ -118,11 +211,26 @@ public class LoginPage extends BasePage {
      */
     public boolean isLoggedInSuccessfully() {
         logger.info("Checking if user is logged in successfully");
+        return getLoginOutcome() == LoginOutcome.SUCCESS;
+    }
+
+    /**
+     * Wait for the result of a login attempt. Resolves as soon as either the
+     * products page or the error banner appears, so a failed login does not
+     * wait for the products page to time out.
+     *
+     * @return outcome of the login attempt
+     */
+    public LoginOutcome getLoginOutcome() {
+        logger.debug("Waiting for login outcome");
         try {
-            return isElementDisplayed(PRODUCTS_TITLE);
-        } catch (Exception e) {
-            logger.debug("User not logged in: {}", e.getMessage());
-            return false;
+            By appeared = Timings.time("login.outcome", () -> waitForFirstVisible(PRODUCTS_TITLE, ERROR_MESSAGE));
+            LoginOutcome outcome = appeared.equals(PRODUCTS_TITLE) ? LoginOutcome.SUCCESS : LoginOutcome.ERROR;
+            logger.debug("Login outcome: {}", outcome);
+            return outcome;
+        } catch (TimeoutException e) {
+            logger.debug("No login outcome within timeout: {}", e.getMessage());
+            return LoginOutcome.NONE;
         }
     }
 
@@ -0,0 +1,192 @@
+package com.saucedemo.pages;
+
+import com.saucedemo.config.BrowserConfig;
+import com.saucedemo.metrics.Timings;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * StepRetryPolicy retries a single page step that failed for a transient reason,
+ * so a re-rendered element or a late overlay does not fail the whole test.
+ * Failures are classified; only the kinds listed in {@code step.retry.on} are
+ * retried, with an exponentially growing pause between attempts. A timeout has
+ * already waited the full element timeout and doubles the time to a real failure,
+ * so it is not retried by default; when enabled it is retried at most
+ * {@code step.retry.timeoutRetries} times. Every retry is counted per step and
+ * kind in the run report ({@link Timings#recordRetry}).
+ */
+public class StepRetryPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(StepRetryPolicy.class);
+
+    /**
+     * Transient failure kinds
+     */
+    public enum Failure {
+        STALE("stale"), INTERCEPTED("intercepted"), NOT_INTERACTABLE("notInteractable"), TIMEOUT("timeout");
+
+        private final String key;
+
+        Failure(String key) {
+            this.key = key;
+        }
+
+        /**
+         * @return name used in configuration and in the run report
+         */
+        public String key() {
+            return key;
+        }
+    }
+
+    private final int maxAttempts;
+    private final int timeoutRetries;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+    private final Set<Failure> retryOn;
+
+    /**
+     * Constructor
+     *
+     * @param maxAttempts      attempts per step including the first, 1 disables retries
+     * @param timeoutRetries   retries allowed after timeouts
+     * @param backoffMillis    pause before the first retry, doubled for every further one
+     * @param maxBackoffMillis longest pause between attempts
+     * @param retryOn          failure kinds that are retried
+     */
+    public StepRetryPolicy(int maxAttempts, int timeoutRetries, long backoffMillis, long maxBackoffMillis,
+                           Set<Failure> retryOn) {
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.timeoutRetries = timeoutRetries;
+        this.backoffMillis = backoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.retryOn = retryOn.isEmpty() ? EnumSet.noneOf(Failure.class) : EnumSet.copyOf(retryOn);
+    }
+
+    /**
+     * Read the policy from {@code step.retry.maxAttempts}, {@code step.retry.timeoutRetries},
+     * {@code step.retry.backoffMillis}, {@code step.retry.maxBackoffMillis} and {@code step.retry.on}
+     *
+     * @return configured policy
+     */
+    public static StepRetryPolicy fromConfig() {
+        Set<Failure> retryOn = EnumSet.noneOf(Failure.class);
+        String kinds = BrowserConfig.get("step.retry.on", "stale,intercepted,notInteractable");
+        for (String kind : kinds.split(",")) {
+            String trimmed = kind.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            retryOn.add(Arrays.stream(Failure.values())
+                    .filter(failure -> failure.key().equalsIgnoreCase(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Unknown step.retry.on kind '" + trimmed
+                            + "', expected stale, intercepted, notInteractable or timeout")));
+        }
+        return new StepRetryPolicy(BrowserConfig.getInt("step.retry.maxAttempts", 3),
+                BrowserConfig.getInt("step.retry.timeoutRetries", 1),
+                BrowserConfig.getLong("step.retry.backoffMillis", 100),
+                BrowserConfig.getLong("step.retry.maxBackoffMillis", 1000),
+                retryOn);
+    }
+
+    /**
+     * @param failure failure kind that must not be retried
+     * @return a copy of this policy that never retries that kind
+     */
+    public StepRetryPolicy without(Failure failure) {
+        Set<Failure> kinds = retryOn.isEmpty() ? EnumSet.noneOf(Failure.class) : EnumSet.copyOf(retryOn);
+        kinds.remove(failure);
+        return new StepRetryPolicy(maxAttempts, timeoutRetries, backoffMillis, maxBackoffMillis, kinds);
+    }
+
+    /**
+     * Classify a step failure
+     *
+     * @param error the failure
+     * @return its kind, or null if it is not transient
+     */
+    public static Failure classify(Throwable error) {
+        if (error instanceof StaleElementReferenceException) {
+            return Failure.STALE;
+        }
+        // Checked before its superclass ElementNotInteractableException
+        if (error instanceof ElementClickInterceptedException) {
+            return Failure.INTERCEPTED;
+        }
+        if (error instanceof ElementNotInteractableException) {
+            return Failure.NOT_INTERACTABLE;
+        }
+        if (error instanceof TimeoutException) {
+            return Failure.TIMEOUT;
+        }
+        return null;
+    }
+
+    /**
+     * Run a step, retrying it after transient failures
+     *
+     * @param step         step name used in the run report
+     * @param attempt      one attempt of the step
+     * @param beforeRetry  called with the failure kind before each retry, e.g. to drop cached elements
+     * @param <T>          result type
+     * @return the result of the first successful attempt
+     */
+    public <T> T run(String step, Supplier<T> attempt, Consumer<Failure> beforeRetry) {
+        int timeouts = 0;
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            try {
+                return attempt.get();
+            } catch (RuntimeException e) {
+                Failure failure = classify(e);
+                if (failure == Failure.TIMEOUT) {
+                    timeouts++;
+                }
+                if (failure == null || !retryOn.contains(failure) || attemptNumber >= maxAttempts
+                        || (failure == Failure.TIMEOUT && timeouts > timeoutRetries)) {
+                    if (attemptNumber > 1) {
+                        Timings.recordRetry(step, "failedAfterRetry");
+                    }
+                    throw e;
+                }
+                long pause = backoffFor(attemptNumber);
+                logger.debug("{} failed ({}), retrying in {} ms (attempt {} of {})",
+                        step, failure.key(), pause, attemptNumber + 1, maxAttempts);
+                Timings.recordRetry(step, failure.key());
+                sleep(pause);
+                beforeRetry.accept(failure);
+            }
+        }
+    }
+
+    /**
+     * @param attemptNumber the attempt that failed, starting at 1
+     * @return pause before the next attempt in milliseconds
+     */
+    long backoffFor(int attemptNumber) {
+        long pause = backoffMillis << Math.min(attemptNumber - 1, 20);
+        return Math.min(pause, maxBackoffMillis);
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry a step", e);
+        }
+    }
+}
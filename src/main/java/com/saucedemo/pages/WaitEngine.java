@@ -0,0 +1,271 @@
+package com.saucedemo.pages;
+
+import com.saucedemo.config.BrowserConfig;
+import com.saucedemo.metrics.TestTimings;
+import com.saucedemo.metrics.Timings;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * WaitEngine resolves element waits as soon as the condition holds.
+ * <ul>
+ *     <li>LEGACY - WebDriverWait with its default 500 ms polling</li>
+ *     <li>ADAPTIVE - checks immediately, then polls with a short, growing interval</li>
+ *     <li>OBSERVER - a MutationObserver in the browser signals when the element appears in the DOM,
+ *     then ADAPTIVE finishes the check; also the fallback for locators or pages it cannot handle</li>
+ * </ul>
+ * The strategy is selected with {@code wait.strategy}.
+ */
+public class WaitEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitEngine.class);
+    private static final long[] ADAPTIVE_POLL_MILLIS = {10, 20, 40, 80, 160, 250};
+    private static final String OBSERVER_SCRIPT =
+            "var using = arguments[0], value = arguments[1], timeout = arguments[2];"
+            + "var done = arguments[arguments.length - 1];"
+            + LocatorScripts.FIND_FUNCTION
+            + "function ready() { return !!find(using, value); }"
+            + "if (ready()) { done(true); return; }"
+            + "var timer;"
+            + "var observer = new MutationObserver(function () {"
+            + "  if (ready()) { observer.disconnect(); clearTimeout(timer); done(true); }"
+            + "});"
+            + "observer.observe(document, {childList: true, subtree: true, attributes: true});"
+            + "timer = setTimeout(function () { observer.disconnect(); done(false); }, timeout);";
+
+    private static final Map<Strategy, WaitStats> stats = new EnumMap<>(Strategy.class);
+
+    static {
+        for (Strategy strategy : Strategy.values()) {
+            stats.put(strategy, new WaitStats());
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(WaitEngine::logSummary, "wait-stats"));
+    }
+
+    /**
+     * Wait strategies
+     */
+    public enum Strategy {
+        LEGACY, ADAPTIVE, OBSERVER
+    }
+
+    private final WebDriver driver;
+    private final Duration timeout;
+    private final Strategy strategy;
+    private final WebDriverWait legacyWait;
+    private boolean scriptTimeoutConfigured;
+
+    /**
+     * Constructor
+     *
+     * @param driver  the WebDriver to wait on
+     * @param timeout maximum time to wait for a condition
+     */
+    public WaitEngine(WebDriver driver, Duration timeout) {
+        this.driver = driver;
+        this.timeout = timeout;
+        this.strategy = Strategy.valueOf(BrowserConfig.get("wait.strategy", "observer").toUpperCase());
+        this.legacyWait = new WebDriverWait(driver, timeout);
+    }
+
+    /**
+     * Wait until the condition returns a non-null, non-false value
+     *
+     * @param condition the condition to evaluate
+     * @param locator   the element the condition is about, used by the observer strategy
+     * @param <T>       condition result type
+     * @return the condition result
+     */
+    public <T> T until(Function<WebDriver, T> condition, By locator) {
+        return until(condition, locator, timeout);
+    }
+
+    /**
+     * Wait until the condition returns a non-null, non-false value
+     *
+     * @param condition   the condition to evaluate
+     * @param locator     the element the condition is about, used by the observer strategy
+     * @param waitTimeout maximum time to wait
+     * @param <T>         condition result type
+     * @return the condition result
+     */
+    public <T> T until(Function<WebDriver, T> condition, By locator, Duration waitTimeout) {
+        long start = System.nanoTime();
+        try {
+            switch (strategy) {
+                case LEGACY:
+                    return waitTimeout.equals(timeout)
+                            ? legacyWait.until(condition)
+                            : new WebDriverWait(driver, waitTimeout).until(condition);
+                case OBSERVER:
+                    return observe(condition, locator, waitTimeout);
+                default:
+                    return poll(condition, waitTimeout);
+            }
+        } finally {
+            stats.get(strategy).record((System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * @return the active wait strategy
+     */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    private <T> T observe(Function<WebDriver, T> condition, By locator, Duration waitTimeout) {
+        List<String> scriptLocator = locator == null ? null : LocatorScripts.toScriptArguments(locator);
+        if (scriptLocator == null || !(driver instanceof JavascriptExecutor)) {
+            return poll(condition, waitTimeout);
+        }
+        T immediate = check(condition);
+        if (immediate != null) {
+            return immediate;
+        }
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        try {
+            configureScriptTimeout();
+            ((JavascriptExecutor) driver).executeAsyncScript(OBSERVER_SCRIPT,
+                    scriptLocator.get(0), scriptLocator.get(1), waitTimeout.toMillis());
+        } catch (WebDriverException e) {
+            logger.debug("Observer wait for {} interrupted ({}), falling back to polling", locator,
+                    e.getClass().getSimpleName());
+        }
+        long remaining = Math.max(0, deadline - System.nanoTime());
+        return poll(condition, Duration.ofNanos(remaining));
+    }
+
+    private <T> T poll(Function<WebDriver, T> condition, Duration waitTimeout) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        int attempt = 0;
+        while (true) {
+            T value = check(condition);
+            if (value != null) {
+                return value;
+            }
+            long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMillis <= 0) {
+                throw new TimeoutException("Expected condition failed: waiting for " + condition
+                        + " (tried for " + waitTimeout.toMillis() + " ms)");
+            }
+            long interval = ADAPTIVE_POLL_MILLIS[Math.min(attempt++, ADAPTIVE_POLL_MILLIS.length - 1)];
+            sleep(Math.min(interval, remainingMillis));
+        }
+    }
+
+    private <T> T check(Function<WebDriver, T> condition) {
+        try {
+            T value = condition.apply(driver);
+            if (value == null || Boolean.FALSE.equals(value)) {
+                return null;
+            }
+            return value;
+        } catch (NotFoundException | StaleElementReferenceException e) {
+            return null;
+        }
+    }
+
+    private void configureScriptTimeout() {
+        if (!scriptTimeoutConfigured) {
+            driver.manage().timeouts().scriptTimeout(timeout.plusSeconds(1));
+            scriptTimeoutConfigured = true;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting", e);
+        }
+    }
+
+    /**
+     * Total measured time spent in waits of a strategy in this JVM
+     *
+     * @param strategy the wait strategy
+     * @return milliseconds spent waiting
+     */
+    public static long getWaitMillis(Strategy strategy) {
+        return stats.get(strategy).getTotalMillis();
+    }
+
+    /**
+     * Log the measured wait latency per strategy, per wait and per test. To compare strategies,
+     * run the same tests once per {@code wait.strategy}, e.g. with WaitStrategyBenchmarkTests.
+     */
+    public static void logSummary() {
+        for (Map.Entry<Strategy, WaitStats> entry : stats.entrySet()) {
+            WaitStats waitStats = entry.getValue();
+            if (waitStats.getCount() == 0) {
+                continue;
+            }
+            logger.info("Waits ({}): {} wait(s) in {} test(s), avg {} ms, max {} ms, avg {} ms waiting per test",
+                    entry.getKey(), waitStats.getCount(), waitStats.getTestCount(), waitStats.getAverageMillis(),
+                    waitStats.getMaxMillis(), waitStats.getAverageMillisPerTest());
+        }
+    }
+
+    /**
+     * Latency statistics for one wait strategy
+     */
+    static class WaitStats {
+
+        private long count;
+        private long totalMillis;
+        private long maxMillis;
+        private final Set<String> tests = new HashSet<>();
+
+        synchronized void record(long millis) {
+            count++;
+            totalMillis += millis;
+            maxMillis = Math.max(maxMillis, millis);
+            TestTimings test = Timings.currentTest();
+            if (test != null) {
+                tests.add(test.getTestName());
+            }
+        }
+
+        synchronized long getCount() {
+            return count;
+        }
+
+        synchronized long getTotalMillis() {
+            return totalMillis;
+        }
+
+        synchronized long getAverageMillis() {
+            return count == 0 ? 0 : totalMillis / count;
+        }
+
+        synchronized long getMaxMillis() {
+            return maxMillis;
+        }
+
+        synchronized int getTestCount() {
+            return tests.size();
+        }
+
+        synchronized long getAverageMillisPerTest() {
+            return tests.isEmpty() ? 0 : totalMillis / tests.size();
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.saucedemo.server;
+
+import com.saucedemo.config.BrowserConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * SauceDemoStubServer is an in-process stand-in for https://www.saucedemo.com/.
+ * It serves a login page and an inventory page with the same element ids,
+ * classes and error texts as the real site, so the page objects run unchanged
+ * against it. The performance_glitch_user gets an artificial delay before the
+ * inventory page is served.
+ */
+public class SauceDemoStubServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SauceDemoStubServer.class);
+    private static final String PASSWORD = "secret_sauce";
+    private static final String SESSION_COOKIE = "session-username";
+    private static final Set<String> USERS = new HashSet<>(Arrays.asList(
+            "standard_user", "locked_out_user", "problem_user",
+            "performance_glitch_user", "error_user", "visual_user"));
+    private static final String LOCKED_OUT_USER = "locked_out_user";
+    private static final String GLITCH_USER = "performance_glitch_user";
+    private static SauceDemoStubServer shared;
+
+    private final long latencyMillis;
+    private final long glitchDelayMillis;
+    private final byte[] loginPage;
+    private final byte[] inventoryPage;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Constructor
+     *
+     * @param latencyMillis     delay added to every response
+     * @param glitchDelayMillis extra delay before serving the inventory to performance_glitch_user
+     */
+    public SauceDemoStubServer(long latencyMillis, long glitchDelayMillis) {
+        this.latencyMillis = latencyMillis;
+        this.glitchDelayMillis = glitchDelayMillis;
+        this.loginPage = readResource("stub/login.html");
+        this.inventoryPage = readResource("stub/inventory.html");
+    }
+
+    /**
+     * Get the JVM-wide stub server, starting it on first use
+     *
+     * @return running shared server
+     */
+    public static synchronized SauceDemoStubServer shared() {
+        if (shared == null) {
+            SauceDemoStubServer server = new SauceDemoStubServer(
+                    BrowserConfig.getLong("stub.latencyMillis", 0),
+                    BrowserConfig.getLong("stub.glitchDelayMillis", 2000));
+            server.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "stub-server-shutdown"));
+            shared = server;
+        }
+        return shared;
+    }
+
+    /**
+     * Start the server on an ephemeral port of the loopback interface
+     */
+    public synchronized void start() {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start SauceDemo stub server", e);
+        }
+        server.createContext("/", this::handle);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stub-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.start();
+        logger.info("SauceDemo stub server started at {}", getBaseUrl());
+    }
+
+    /**
+     * Stop the server
+     */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            logger.info("SauceDemo stub server stopped");
+        }
+    }
+
+    /**
+     * @return base URL of the running server, ending with a slash
+     */
+    public String getBaseUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort() + "/";
+    }
+
+    /**
+     * Validate credentials the same way SauceDemo does
+     *
+     * @param username the username
+     * @param password the password
+     * @return error message, or null if the credentials are accepted
+     */
+    public static String authenticate(String username, String password) {
+        if (username == null || username.isEmpty()) {
+            return "Epic sadface: Username is required";
+        }
+        if (password == null || password.isEmpty()) {
+            return "Epic sadface: Password is required";
+        }
+        if (!USERS.contains(username) || !PASSWORD.equals(password)) {
+            return "Epic sadface: Username and password do not match any user in this service";
+        }
+        if (LOCKED_OUT_USER.equals(username)) {
+            return "Epic sadface: Sorry, this user has been locked out.";
+        }
+        return null;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            sleep(latencyMillis);
+            String path = exchange.getRequestURI().getPath();
+            if ("/".equals(path) || "/index.html".equals(path)) {
+                send(exchange, 200, "text/html", loginPage);
+            } else if ("/api/login".equals(path) && "POST".equals(exchange.getRequestMethod())) {
+                handleLogin(exchange);
+            } else if ("/inventory.html".equals(path)) {
+                handleInventory(exchange);
+            } else {
+                send(exchange, 404, "text/plain", "Not found".getBytes(StandardCharsets.UTF_8));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleLogin(HttpExchange exchange) throws IOException {
+        Map<String, String> form = parseForm(readBody(exchange));
+        String username = form.get("user-name");
+        String error = authenticate(username, form.get("password"));
+        if (error != null) {
+            send(exchange, 401, "text/plain", error.getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + username + "; Path=/");
+        send(exchange, 200, "text/plain", new byte[0]);
+    }
+
+    private void handleInventory(HttpExchange exchange) throws IOException {
+        String username = getSessionUser(exchange);
+        if (username == null) {
+            exchange.getResponseHeaders().add("Location", "/");
+            send(exchange, 302, "text/plain", new byte[0]);
+            return;
+        }
+        if (GLITCH_USER.equals(username)) {
+            sleep(glitchDelayMillis);
+        }
+        send(exchange, 200, "text/html", inventoryPage);
+    }
+
+    private String getSessionUser(HttpExchange exchange) {
+        List<String> cookieHeaders = exchange.getRequestHeaders().get("Cookie");
+        if (cookieHeaders == null) {
+            return null;
+        }
+        for (String header : cookieHeaders) {
+            for (String cookie : header.split(";")) {
+                String[] pair = cookie.trim().split("=", 2);
+                if (pair.length == 2 && SESSION_COOKIE.equals(pair[0]) && USERS.contains(pair[1])) {
+                    return pair[1];
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, String> parseForm(String body) {
+        Map<String, String> form = new HashMap<>();
+        for (String pair : body.split("&")) {
+            String[] parts = pair.split("=", 2);
+            if (parts.length == 2) {
+                form.put(URLDecoder.decode(parts[0], StandardCharsets.UTF_8),
+                        URLDecoder.decode(parts[1], StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body)
+            throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static byte[] readResource(String name) {
+        try (InputStream in = SauceDemoStubServer.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing stub resource " + name);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            in.transferTo(out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read stub resource " + name, e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
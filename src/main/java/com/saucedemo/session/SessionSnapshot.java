@@ -0,0 +1,112 @@
+package com.saucedemo.session;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * SessionSnapshot is an immutable copy of the cookies and localStorage of an
+ * authenticated browser session, which can be injected into another driver.
+ */
+public class SessionSnapshot {
+
+    private static final String READ_LOCAL_STORAGE =
+            "var items = {};"
+            + "for (var i = 0; i < window.localStorage.length; i++) {"
+            + "  var key = window.localStorage.key(i);"
+            + "  items[key] = window.localStorage.getItem(key);"
+            + "}"
+            + "return items;";
+    private static final String WRITE_LOCAL_STORAGE =
+            "var items = arguments[0];"
+            + "for (var key in items) { window.localStorage.setItem(key, items[key]); }";
+
+    private final Set<Cookie> cookies;
+    private final Map<String, String> localStorage;
+    private final Instant capturedAt;
+
+    private SessionSnapshot(Set<Cookie> cookies, Map<String, String> localStorage, Instant capturedAt) {
+        this.cookies = Collections.unmodifiableSet(new LinkedHashSet<>(cookies));
+        this.localStorage = Collections.unmodifiableMap(new HashMap<>(localStorage));
+        this.capturedAt = capturedAt;
+    }
+
+    /**
+     * Capture the session of a driver that is logged in and on the application's origin
+     *
+     * @param driver the logged-in driver
+     * @return snapshot of the driver's cookies and localStorage
+     */
+    @SuppressWarnings("unchecked")
+    public static SessionSnapshot capture(WebDriver driver) {
+        Map<String, Object> items = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript(READ_LOCAL_STORAGE);
+        Map<String, String> storage = new HashMap<>();
+        if (items != null) {
+            items.forEach((key, value) -> storage.put(key, String.valueOf(value)));
+        }
+        return new SessionSnapshot(driver.manage().getCookies(), storage, Instant.now());
+    }
+
+    /**
+     * Inject the snapshot into a driver. The driver must already be on the application's
+     * origin, because cookies and localStorage can only be written for the current origin.
+     *
+     * @param driver the driver to restore the session into
+     */
+    public void restoreInto(WebDriver driver) {
+        for (Cookie cookie : cookies) {
+            driver.manage().addCookie(cookie);
+        }
+        if (!localStorage.isEmpty()) {
+            ((JavascriptExecutor) driver).executeScript(WRITE_LOCAL_STORAGE, localStorage);
+        }
+    }
+
+    /**
+     * Check whether the snapshot is older than the given time to live
+     *
+     * @param ttl maximum age
+     * @return true if the snapshot should no longer be used
+     */
+    public boolean isExpired(Duration ttl) {
+        if (Instant.now().isAfter(capturedAt.plus(ttl))) {
+            return true;
+        }
+        for (Cookie cookie : cookies) {
+            if (cookie.getExpiry() != null && cookie.getExpiry().toInstant().isBefore(Instant.now())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return captured cookies
+     */
+    public Set<Cookie> getCookies() {
+        return cookies;
+    }
+
+    /**
+     * @return captured localStorage entries
+     */
+    public Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+
+    /**
+     * @return capture time
+     */
+    public Instant getCapturedAt() {
+        return capturedAt;
+    }
+}
@@ -0,0 +1,81 @@
+package com.saucedemo.session;
+
+import com.saucedemo.config.BrowserConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * SessionSnapshotStore caches one authenticated session snapshot per user in memory.
+ * Snapshots expire after {@code session.snapshot.ttlSeconds}. Parallel workers asking
+ * for the same user wait for a single capture instead of each logging in.
+ */
+public class SessionSnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionSnapshotStore.class);
+    private static final Map<String, SessionSnapshot> snapshots = new ConcurrentHashMap<>();
+    private static final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private SessionSnapshotStore() {
+    }
+
+    /**
+     * Get a valid snapshot for a user, or capture one
+     *
+     * @param username the user the session belongs to
+     * @param capture  logs the user in through the UI and captures the session;
+     *                 only called when no valid snapshot is cached
+     * @return cached or freshly captured snapshot
+     */
+    public static SessionSnapshot get(String username, Supplier<SessionSnapshot> capture) {
+        Duration ttl = Duration.ofSeconds(BrowserConfig.getLong("session.snapshot.ttlSeconds", 300));
+        SessionSnapshot snapshot = snapshots.get(username);
+        if (snapshot != null && !snapshot.isExpired(ttl)) {
+            return snapshot;
+        }
+        synchronized (locks.computeIfAbsent(username, key -> new Object())) {
+            snapshot = snapshots.get(username);
+            if (snapshot == null || snapshot.isExpired(ttl)) {
+                logger.info("Capturing session snapshot for {}", username);
+                snapshot = capture.get();
+                snapshots.put(username, snapshot);
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Check whether a valid snapshot is cached for a user
+     *
+     * @param username the user
+     * @return true if a snapshot exists and has not expired
+     */
+    public static boolean contains(String username) {
+        SessionSnapshot snapshot = snapshots.get(username);
+        return snapshot != null
+                && !snapshot.isExpired(Duration.ofSeconds(BrowserConfig.getLong("session.snapshot.ttlSeconds", 300)));
+    }
+
+    /**
+     * Drop the snapshot of a user, e.g. after the server rejected it
+     *
+     * @param username the user
+     */
+    public static void invalidate(String username) {
+        snapshots.remove(username);
+    }
+
+    /**
+     * Drop all snapshots
+     */
+    public static void clear() {
+        snapshots.clear();
+    }
+}
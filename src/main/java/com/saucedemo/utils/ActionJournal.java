@@ -0,0 +1,91 @@
+package com.saucedemo.utils;
+
+import com.saucedemo.config.BrowserConfig;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ActionJournal remembers the most recent page actions of the current thread in a
+ * fixed-size ring buffer ({@code artifacts.journalSize}, default 50). Recording only
+ * stores a timestamp and two references, nothing is formatted until a snapshot is
+ * taken, so the journal costs next to nothing while tests pass.
+ */
+public class ActionJournal {
+
+    private static final int CAPACITY = Math.max(1, BrowserConfig.getInt("artifacts.journalSize", 50));
+    private static final ThreadLocal<ActionJournal> current = ThreadLocal.withInitial(ActionJournal::new);
+    private static final LongAdder totalRecorded = new LongAdder();
+
+    private final long[] times = new long[CAPACITY];
+    private final String[] actions = new String[CAPACITY];
+    private final Object[] targets = new Object[CAPACITY];
+    private long recorded;
+    private long startedAt = System.currentTimeMillis();
+
+    /**
+     * Private constructor, journals are per thread
+     */
+    private ActionJournal() {
+    }
+
+    /**
+     * Start a new journal for the test running on this thread
+     */
+    public static void start() {
+        ActionJournal journal = current.get();
+        journal.recorded = 0;
+        journal.startedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Record an action
+     *
+     * @param action what was done, e.g. click
+     * @param target what it was done to, usually a locator or URL; formatted lazily
+     */
+    public static void record(String action, Object target) {
+        ActionJournal journal = current.get();
+        int slot = (int) (journal.recorded++ % CAPACITY);
+        journal.times[slot] = System.currentTimeMillis();
+        journal.actions[slot] = action;
+        journal.targets[slot] = target;
+        totalRecorded.increment();
+    }
+
+    /**
+     * @return time the current thread's journal was started, in epoch milliseconds
+     */
+    public static long getStartedAt() {
+        return current.get().startedAt;
+    }
+
+    /**
+     * Format the current thread's journal, oldest entry first
+     *
+     * @return one line per remembered action
+     */
+    public static List<String> snapshot() {
+        ActionJournal journal = current.get();
+        List<String> lines = new ArrayList<>();
+        long first = Math.max(0, journal.recorded - CAPACITY);
+        if (first > 0) {
+            lines.add("... " + first + " earlier action(s) not kept");
+        }
+        for (long i = first; i < journal.recorded; i++) {
+            int slot = (int) (i % CAPACITY);
+            lines.add(Instant.ofEpochMilli(journal.times[slot]) + " " + journal.actions[slot]
+                    + (journal.targets[slot] == null ? "" : " " + journal.targets[slot]));
+        }
+        return lines;
+    }
+
+    /**
+     * @return number of actions recorded by all threads
+     */
+    public static long getTotalRecorded() {
+        return totalRecorded.sum();
+    }
+}
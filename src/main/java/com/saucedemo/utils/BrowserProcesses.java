@@ -0,0 +1,129 @@
+package com.saucedemo.utils;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * BrowserProcesses finds the operating system processes behind a WebDriver
+ * session and reads their memory usage. Memory figures come from /proc and are
+ * only available on Linux; elsewhere they are reported as -1.
+ */
+public class BrowserProcesses {
+
+    private static final Logger logger = LoggerFactory.getLogger(BrowserProcesses.class);
+    private static final Path PROC = Paths.get("/proc");
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private BrowserProcesses() {
+    }
+
+    /**
+     * Find the browser main process and all of its descendants for a local Chrome session
+     *
+     * @param driver the WebDriver session
+     * @return processes of the browser, empty if they cannot be identified
+     */
+    public static List<ProcessHandle> find(WebDriver driver) {
+        Optional<String> userDataDir = getUserDataDir(driver);
+        if (!userDataDir.isPresent()) {
+            return new ArrayList<>();
+        }
+        String marker = "--user-data-dir=" + userDataDir.get();
+        List<ProcessHandle> processes = new ArrayList<>();
+        ProcessHandle.current().descendants()
+                .filter(process -> process.info().commandLine()
+                        .map(commandLine -> commandLine.contains(marker))
+                        .orElse(false))
+                .forEach(root -> {
+                    processes.add(root);
+                    processes.addAll(root.descendants().collect(Collectors.toList()));
+                });
+        return processes.stream().distinct().collect(Collectors.toList());
+    }
+
+    /**
+     * Sum the resident set size of the browser processes behind a session
+     *
+     * @param driver the WebDriver session
+     * @return RSS in kilobytes, -1 if unknown
+     */
+    public static long residentKb(WebDriver driver) {
+        List<ProcessHandle> processes = find(driver);
+        if (processes.isEmpty()) {
+            return -1;
+        }
+        return residentKb(processes);
+    }
+
+    /**
+     * Sum the resident set size of the given processes
+     *
+     * @param processes the processes to measure
+     * @return RSS in kilobytes, -1 if unknown
+     */
+    public static long residentKb(List<ProcessHandle> processes) {
+        if (!Files.isDirectory(PROC)) {
+            return -1;
+        }
+        long total = 0;
+        for (ProcessHandle process : processes) {
+            long rss = residentKb(process.pid());
+            if (rss > 0) {
+                total += rss;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Read the resident set size of a single process
+     *
+     * @param pid the process id
+     * @return RSS in kilobytes, -1 if unknown
+     */
+    public static long residentKb(long pid) {
+        Path status = PROC.resolve(String.valueOf(pid)).resolve("status");
+        try {
+            for (String line : Files.readAllLines(status, StandardCharsets.UTF_8)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            logger.trace("Could not read memory of process {}: {}", pid, e.getMessage());
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<String> getUserDataDir(WebDriver driver) {
+        if (!(driver instanceof HasCapabilities)) {
+            return Optional.empty();
+        }
+        Capabilities capabilities = ((HasCapabilities) driver).getCapabilities();
+        Object chrome = capabilities.getCapability("chrome");
+        if (chrome instanceof Map) {
+            Object dir = ((Map<String, Object>) chrome).get("userDataDir");
+            if (dir != null) {
+                return Optional.of(dir.toString());
+            }
+        }
+        return Optional.empty();
+    }
+}
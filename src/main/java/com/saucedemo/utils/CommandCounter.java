@@ -0,0 +1,79 @@
+package com.saucedemo.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * CommandCounter counts WebDriver commands sent by the current thread.
+ * Registered as a listener on decorated drivers; each counted call is one
+ * HTTP round-trip to the driver. Accessors that only return a local helper
+ * object (manage(), navigate(), ...) are not counted.
+ */
+public class CommandCounter implements WebDriverListener {
+
+    private static final Set<String> LOCAL_METHODS = new HashSet<>(Arrays.asList(
+            "manage", "navigate", "switchTo", "timeouts", "window", "logs",
+            "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals"));
+    private static final ThreadLocal<long[]> counter = ThreadLocal.withInitial(() -> new long[1]);
+    private static volatile boolean active;
+
+    /**
+     * Get the number of commands sent by the current thread
+     *
+     * @return command count, or -1 if no driver is being counted
+     */
+    public static long get() {
+        return active ? counter.get()[0] : -1;
+    }
+
+    /**
+     * Reset the current thread's command count
+     */
+    public static void reset() {
+        counter.get()[0] = 0;
+    }
+
+    /**
+     * Constructor
+     */
+    public CommandCounter() {
+        active = true;
+    }
+
+    @Override
+    public void beforeAnyWebDriverCall(WebDriver driver, Method method, Object[] args) {
+        count(method);
+    }
+
+    @Override
+    public void beforeAnyWebElementCall(WebElement element, Method method, Object[] args) {
+        count(method);
+    }
+
+    @Override
+    public void beforeAnyNavigationCall(WebDriver.Navigation navigation, Method method, Object[] args) {
+        count(method);
+    }
+
+    @Override
+    public void beforeAnyOptionsCall(WebDriver.Options options, Method method, Object[] args) {
+        count(method);
+    }
+
+    @Override
+    public void beforeAnyTimeoutsCall(WebDriver.Timeouts timeouts, Method method, Object[] args) {
+        count(method);
+    }
+
+    private void count(Method method) {
+        if (!LOCAL_METHODS.contains(method.getName())) {
+            counter.get()[0]++;
+        }
+    }
+}
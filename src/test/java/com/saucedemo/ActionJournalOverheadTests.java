@@ -0,0 +1,50 @@
+package com.saucedemo;
+
+import com.saucedemo.utils.ActionJournal;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ActionJournalOverheadTests measures what the failure-artifact journal costs a
+ * passing test: one ring buffer write per page action. Excluded from regular runs; run with:
+ * {@code mvn test -Dgroups=benchmark -DexcludedGroups= -Dtest=ActionJournalOverheadTests}
+ */
+@Feature("Performance")
+@Tag("benchmark")
+@DisplayName("Action Journal Overhead Benchmark")
+public class ActionJournalOverheadTests {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActionJournalOverheadTests.class);
+    private static final int ACTIONS = Integer.getInteger("benchmark.journalActions", 1_000_000);
+    private static final int WARMUP_ACTIONS = 100_000;
+
+    @Test
+    @DisplayName("Journal writes on the green path")
+    @Description("Measure the per-action cost of recording page actions in the journal")
+    public void benchmarkJournalRecord() {
+        By locator = By.id("login-button");
+        ActionJournal.start();
+        for (int i = 0; i < WARMUP_ACTIONS; i++) {
+            ActionJournal.record("click", locator);
+        }
+
+        ActionJournal.start();
+        long start = System.nanoTime();
+        for (int i = 0; i < ACTIONS; i++) {
+            ActionJournal.record("click", locator);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertFalse(ActionJournal.snapshot().isEmpty(), "Journal should keep the latest actions");
+        logger.info("Action journal: {} action(s), avg {} ns per recorded action",
+                ACTIONS, String.format("%.1f", (double) elapsed / ACTIONS));
+    }
+}
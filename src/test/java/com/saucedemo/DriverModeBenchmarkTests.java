@@ -0,0 +1,142 @@
+package com.saucedemo;
+
+import com.saucedemo.config.BrowserConfig;
+import com.saucedemo.config.DriverManager;
+import com.saucedemo.extensions.DriverFailureExtension;
+import com.saucedemo.extensions.LogContextExtension;
+import com.saucedemo.metrics.LatencyHistogram;
+import com.saucedemo.pages.LoginPage;
+import com.saucedemo.pages.LoginPage.LoginOutcome;
+import com.saucedemo.utils.BrowserProcesses;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DriverModeBenchmarkTests runs the same login checks with the configured
+ * {@code driver.factory} and records per-test time, driver startup and memory in
+ * target/performance/driver-modes/&lt;factory&gt;.properties. Once both modes have
+ * run, the comparison is logged; results are machine specific and not committed.
+ * Excluded from regular runs; run once per mode:
+ * {@code mvn test -Dgroups=benchmark -DexcludedGroups= -Dtest=DriverModeBenchmarkTests -Dsaucedemo.target=local
+ * -Ddriver.factory=local} and again with {@code -Ddriver.factory=htmlunit}
+ */
+@Feature("Performance")
+@Tag("benchmark")
+@DisplayName("Driver Mode Benchmark")
+@ExtendWith({LogContextExtension.class, DriverFailureExtension.class})
+public class DriverModeBenchmarkTests {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverModeBenchmarkTests.class);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 20);
+    private static final Path RESULTS_DIR = Paths.get("target", "performance", "driver-modes");
+
+    /**
+     * Cleanup after each test - release WebDriver
+     */
+    @AfterEach
+    public void tearDown() {
+        DriverManager.quitDriver();
+    }
+
+    @Test
+    @DisplayName("Login checks with the configured driver mode")
+    @Description("Measure per-test time, driver startup and memory of successful and locked-out logins")
+    public void benchmarkLoginChecks() throws IOException {
+        String mode = BrowserConfig.get("driver.factory", "local").toLowerCase();
+        long heapBeforeKb = usedHeapKb();
+        long jvmResidentBeforeKb = BrowserProcesses.residentKb(ProcessHandle.current().pid());
+        LatencyHistogram perTest = new LatencyHistogram();
+        long browserResidentKb = -1;
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            boolean lockedOut = i % 2 == 1;
+            long start = System.nanoTime();
+            LoginPage loginPage = new LoginPage();
+            loginPage.openLoginPage();
+            loginPage.login(lockedOut ? "locked_out_user" : "standard_user", "secret_sauce");
+            if (lockedOut) {
+                assertEquals(LoginOutcome.ERROR, loginPage.getLoginOutcome(), "Locked out user should see an error");
+                assertTrue(loginPage.getErrorMessage().contains("locked out"),
+                        "Error message should mention that the user is locked out");
+            } else {
+                assertEquals(LoginOutcome.SUCCESS, loginPage.getLoginOutcome(), "User should be logged in");
+            }
+            if (i == 0) {
+                browserResidentKb = BrowserProcesses.residentKb(DriverManager.getDriver());
+            }
+            DriverManager.quitDriver();
+            perTest.record((System.nanoTime() - start) / 1_000);
+        }
+
+        // Pooled sessions are still alive here, so their heap share is included
+        Properties result = new Properties();
+        result.setProperty("tests", String.valueOf(ITERATIONS));
+        result.setProperty("perTest.p50Millis", String.valueOf(perTest.getValueAtPercentile(50) / 1_000));
+        result.setProperty("perTest.p95Millis", String.valueOf(perTest.getValueAtPercentile(95) / 1_000));
+        result.setProperty("driver.firstLaunchMillis",
+                String.valueOf(DriverManager.getStartupStats().getFirstLaunchMillis()));
+        result.setProperty("memory.jvmHeapGrowthKb", String.valueOf(usedHeapKb() - heapBeforeKb));
+        result.setProperty("memory.jvmResidentGrowthKb", String.valueOf(
+                BrowserProcesses.residentKb(ProcessHandle.current().pid()) - jvmResidentBeforeKb));
+        result.setProperty("memory.browserResidentKb", String.valueOf(browserResidentKb));
+        write(mode, result);
+        logger.info("Driver mode [{}]: {}", mode, result);
+        logComparison();
+    }
+
+    private static long usedHeapKb() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / 1024;
+    }
+
+    private static void write(String mode, Properties result) throws IOException {
+        Files.createDirectories(RESULTS_DIR);
+        try (OutputStream out = Files.newOutputStream(RESULTS_DIR.resolve(mode + ".properties"))) {
+            result.store(out, "Driver mode benchmark");
+        }
+    }
+
+    private static void logComparison() throws IOException {
+        Properties local = read("local");
+        Properties htmlunit = read("htmlunit");
+        if (local == null || htmlunit == null) {
+            logger.info("Run the benchmark with driver.factory=local and driver.factory=htmlunit to compare them");
+            return;
+        }
+        logger.info("Driver mode comparison (local | htmlunit):");
+        for (String key : new TreeSet<>(local.stringPropertyNames())) {
+            logger.info("  {}: {} | {}", key, local.getProperty(key), htmlunit.getProperty(key, "-"));
+        }
+    }
+
+    private static Properties read(String mode) throws IOException {
+        Path file = RESULTS_DIR.resolve(mode + ".properties");
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        return properties;
+    }
+}
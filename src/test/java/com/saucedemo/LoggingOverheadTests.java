@@ -0,0 +1,127 @@
+package com.saucedemo;
+
+import com.saucedemo.extensions.LogContextExtension;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LoggingOverheadTests measures how long a page-object style debug line keeps
+ * the calling thread busy while several workers log at once, and records the
+ * result in target/performance/logging-modes/&lt;mode&gt;.properties. Once both
+ * modes have run, the comparison is logged. Run it once per logging mode:
+ * {@code mvn test -Dgroups=benchmark -DexcludedGroups= -Dtest=LoggingOverheadTests -Dlog.mode=SYNC}
+ * and the same with {@code -Dlog.mode=ASYNC}.
+ */
+@Feature("Performance")
+@Tag("benchmark")
+@DisplayName("Logging Overhead Benchmark")
+@ExtendWith(LogContextExtension.class)
+public class LoggingOverheadTests {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingOverheadTests.class);
+    private static final Logger pageLogger = LoggerFactory.getLogger("com.saucedemo.pages.BasePage");
+    private static final int LINES_PER_WORKER = Integer.getInteger("benchmark.logLines", 20_000);
+    private static final int LINES_PER_TEST = Integer.getInteger("benchmark.logLinesPerTest", 200);
+    private static final Path RESULTS_DIR = Paths.get("target", "performance", "logging-modes");
+
+    @Test
+    @DisplayName("Debug lines from parallel workers")
+    @Description("Measure the caller-side cost of BasePage debug logging with parallel workers")
+    public void benchmarkParallelDebugLogging() throws Exception {
+        int workers = Runtime.getRuntime().availableProcessors();
+        By locator = By.id("user-name");
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int worker = 0; worker < workers; worker++) {
+                String testName = "worker-" + worker;
+                results.add(executor.submit(() -> {
+                    MDC.put("test", testName);
+                    long start = System.nanoTime();
+                    for (int i = 0; i < LINES_PER_WORKER; i++) {
+                        pageLogger.debug("Waiting for element to be visible: {}", locator);
+                    }
+                    long elapsed = System.nanoTime() - start;
+                    MDC.remove("test");
+                    return elapsed;
+                }));
+            }
+            long totalNanos = 0;
+            for (Future<Long> result : results) {
+                totalNanos += result.get();
+            }
+            long lines = (long) workers * LINES_PER_WORKER;
+            assertTrue(lines > 0, "Some lines should have been logged");
+            String mode = System.getProperty("log.mode", "ASYNC").toUpperCase();
+            long nanosPerCall = totalNanos / lines;
+            Properties result = new Properties();
+            result.setProperty("workers", String.valueOf(workers));
+            result.setProperty("lines", String.valueOf(lines));
+            result.setProperty("nanosPerDebugCall", String.valueOf(nanosPerCall));
+            result.setProperty("microsPerTest", String.valueOf(nanosPerCall * LINES_PER_TEST / 1_000));
+            write(mode, result);
+            logger.info("Logging overhead [log.mode={}]: {} worker(s), {} line(s), avg {} ns per debug call,"
+                    + " about {} us per test of {} debug lines", mode, workers, lines, nanosPerCall,
+                    nanosPerCall * LINES_PER_TEST / 1_000, LINES_PER_TEST);
+            logComparison();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void write(String mode, Properties result) throws IOException {
+        Files.createDirectories(RESULTS_DIR);
+        try (OutputStream out = Files.newOutputStream(RESULTS_DIR.resolve(mode + ".properties"))) {
+            result.store(out, "Logging overhead benchmark");
+        }
+    }
+
+    private static void logComparison() throws IOException {
+        Properties sync = read("SYNC");
+        Properties async = read("ASYNC");
+        if (sync == null || async == null) {
+            logger.info("Run the benchmark with log.mode=SYNC and log.mode=ASYNC to compare them");
+            return;
+        }
+        logger.info("Logging mode comparison (SYNC | ASYNC):");
+        for (String key : new TreeSet<>(sync.stringPropertyNames())) {
+            logger.info("  {}: {} | {}", key, sync.getProperty(key), async.getProperty(key, "-"));
+        }
+    }
+
+    private static Properties read(String mode) throws IOException {
+        Path file = RESULTS_DIR.resolve(mode + ".properties");
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        return properties;
+    }
+}
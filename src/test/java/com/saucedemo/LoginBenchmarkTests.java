@@ -0,0 +1,146 @@
+package com.saucedemo;
+
+import com.saucedemo.config.DriverManager;
+import com.saucedemo.extensions.DriverFailureExtension;
+import com.saucedemo.extensions.FailureArtifactsExtension;
+import com.saucedemo.extensions.LogContextExtension;
+import com.saucedemo.extensions.TimingReportExtension;
+import com.saucedemo.pages.LoginPage;
+import com.saucedemo.utils.CommandCounter;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LoginBenchmarkTests compares WebDriver round-trips and latency of a login
+ * performed with real keystrokes against a batched single-script login.
+ * Runs isolated and on one thread: it switches on {@code driver.countCommands}
+ * for its own drivers, which are quit rather than returned to the pool.
+ * Excluded from regular runs; run with:
+ * {@code mvn test -Dgroups=benchmark -DexcludedGroups= -Dtest=LoginBenchmarkTests}
+ */
+@Feature("Performance")
+@Tag("benchmark")
+@Isolated
+@Execution(ExecutionMode.SAME_THREAD)
+@DisplayName("Login Interaction Benchmark")
+@ExtendWith({LogContextExtension.class, DriverFailureExtension.class, FailureArtifactsExtension.class,
+        TimingReportExtension.class})
+public class LoginBenchmarkTests {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginBenchmarkTests.class);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 5);
+    private static String previousCountCommands;
+
+    /**
+     * Enable command counting before any driver is created
+     */
+    @BeforeAll
+    public static void enableCommandCounting() {
+        previousCountCommands = System.getProperty("driver.countCommands");
+        System.setProperty("driver.countCommands", "true");
+    }
+
+    /**
+     * Restore command counting to what it was before this class
+     */
+    @AfterAll
+    public static void restoreCommandCounting() {
+        if (previousCountCommands == null) {
+            System.clearProperty("driver.countCommands");
+        } else {
+            System.setProperty("driver.countCommands", previousCountCommands);
+        }
+    }
+
+    /**
+     * Cleanup after each test - quit WebDriver
+     */
+    @AfterEach
+    public void tearDown() {
+        // Counting drivers are not recycled, so later tests never get one from the pool
+        DriverManager.markDriverFailed();
+        DriverManager.quitDriver();
+    }
+
+    @Test
+    @DisplayName("Stepwise login: clear and sendKeys per field, then click")
+    @Description("Measure round-trips and latency of a login using real keystrokes")
+    public void benchmarkStepwiseLogin() {
+        runBenchmark("stepwise", LoginPage::loginStepwise);
+    }
+
+    @Test
+    @DisplayName("Batched login: fields and click in one executeScript call")
+    @Description("Measure round-trips and latency of a login using a single script round-trip")
+    public void benchmarkBatchedLogin() {
+        runBenchmark("batched", LoginPage::loginBatched);
+    }
+
+    private void runBenchmark(String mode, LoginAction action) {
+        long totalCommands = 0;
+        long totalMillis = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            LoginPage loginPage = openOnCountingDriver();
+
+            CommandCounter.reset();
+            long start = System.nanoTime();
+            action.login(loginPage, "standard_user", "secret_sauce");
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            long commands = CommandCounter.get();
+
+            assertTrue(loginPage.isLoggedInSuccessfully(), "User should be logged in successfully");
+            totalCommands += commands;
+            totalMillis += millis;
+            // Every iteration starts logged out on a fresh counting driver, none goes back to the pool
+            DriverManager.markDriverFailed();
+            DriverManager.quitDriver();
+        }
+        logger.info("Login benchmark [{}]: {} iteration(s), avg {} round-trip(s), avg {} ms per login",
+                mode, ITERATIONS, totalCommands / ITERATIONS, totalMillis / ITERATIONS);
+    }
+
+    /**
+     * Open the login page on a driver that counts commands. Idle drivers launched before
+     * this class do not count; they are quit and replaced instead of measured.
+     *
+     * @return login page on a counting driver
+     */
+    private static LoginPage openOnCountingDriver() {
+        for (int attempt = 0; attempt <= DriverManager.getPool().getMaxSize(); attempt++) {
+            WebDriver driver = DriverManager.getDriver();
+            CommandCounter.reset();
+            driver.getCurrentUrl();
+            if (CommandCounter.get() > 0) {
+                LoginPage loginPage = new LoginPage();
+                loginPage.openLoginPage();
+                return loginPage;
+            }
+            logger.info("Borrowed driver does not count commands, replacing it");
+            DriverManager.markDriverFailed();
+            DriverManager.quitDriver();
+        }
+        return fail("No command-counting driver could be borrowed from the pool");
+    }
+
+    /**
+     * A login flow on a LoginPage
+     */
+    private interface LoginAction {
+        void login(LoginPage page, String username, String password);
+    }
+}
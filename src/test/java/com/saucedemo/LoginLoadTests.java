@@ -0,0 +1,61 @@
+package com.saucedemo;
+
+import com.saucedemo.config.BrowserConfig;
+import com.saucedemo.extensions.LogContextExtension;
+import com.saucedemo.load.HttpLoginClient;
+import com.saucedemo.load.LoadProfile;
+import com.saucedemo.load.LoadResult;
+import com.saucedemo.load.LoadRunner;
+import com.saucedemo.server.SauceDemoStubServer;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LoginLoadTests runs the login flow under concurrent load, configured with
+ * {@code load.*} properties. The HTTP client always targets the in-process stub
+ * server, so the default run needs neither a browser nor network access.
+ * Excluded from regular runs; run with:
+ * {@code mvn test -Dgroups=load -DexcludedGroups= -Dtest=LoginLoadTests}
+ */
+@Feature("Performance")
+@Tag("load")
+@DisplayName("Login Load Test")
+@ExtendWith(LogContextExtension.class)
+public class LoginLoadTests {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginLoadTests.class);
+
+    @Test
+    @DisplayName("Concurrent logins stay within the allowed error rate")
+    @Description("Run the configured load profile and report throughput, error rate and latency percentiles")
+    public void testLoginUnderLoad() {
+        LoadProfile profile = LoadProfile.fromConfig();
+        String client = BrowserConfig.get("load.client", "http");
+        LoadRunner runner;
+        if ("browser".equalsIgnoreCase(client)) {
+            runner = LoadRunner.browser(profile);
+        } else {
+            String baseUrl = SauceDemoStubServer.shared().getBaseUrl();
+            runner = new LoadRunner(profile, () -> new HttpLoginClient(baseUrl));
+        }
+        logger.info("Load client: {}", client);
+
+        LoadResult result = runner.run();
+        result.writeReport(Paths.get(BrowserConfig.get("load.report", "target/performance/load.json")));
+
+        double maxErrorRate = Double.parseDouble(BrowserConfig.get("load.maxErrorRate", "0.01"));
+        assertTrue(result.getTotal() > 0, "At least one login should have been attempted");
+        assertTrue(result.getErrorRate() <= maxErrorRate,
+                "Error rate " + result.getErrorRate() + " should not exceed " + maxErrorRate);
+    }
+}
@@ -0,0 +1,91 @@
+package com.saucedemo;
+
+import com.saucedemo.config.BrowserConfig;
+import com.saucedemo.config.DriverManager;
+import com.saucedemo.data.LoginCase;
+import com.saucedemo.data.LoginMatrix;
+import com.saucedemo.extensions.DriverFailureExtension;
+import com.saucedemo.extensions.FailureArtifactsExtension;
+import com.saucedemo.extensions.LogContextExtension;
+import com.saucedemo.extensions.NetworkConditionsExtension;
+import com.saucedemo.extensions.TimingReportExtension;
+import com.saucedemo.pages.LoginPage;
+import com.saucedemo.pages.LoginPage.LoginOutcome;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LoginMatrixTests runs one login per row of the login matrix
+ * ({@code login.matrix}, default login-matrix.csv on the test classpath).
+ * Rows run in parallel on pooled, recycled browser sessions. With
+ * {@code shard.count} greater than 1 each JVM only runs the rows of its
+ * {@code shard.index}, e.g. {@code mvn test -Dshard.index=0 -Dshard.count=3}.
+ * Row shards and fork bins ({@code fork.count}) must not be combined: the
+ * class runs in only one fork bin, so the other shards' rows would never run.
+ */
+@Feature("Authentication")
+@DisplayName("Login Matrix")
+@ExtendWith({LogContextExtension.class, DriverFailureExtension.class, FailureArtifactsExtension.class,
+        TimingReportExtension.class, NetworkConditionsExtension.class})
+public class LoginMatrixTests {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginMatrixTests.class);
+
+    /**
+     * Rows of the matrix that belong to this JVM's shard
+     *
+     * @return login cases to run
+     */
+    static Stream<LoginCase> loginCases() {
+        List<LoginCase> cases = LoginMatrix.load(BrowserConfig.get("login.matrix", "login-matrix.csv"));
+        int shardIndex = BrowserConfig.getInt("shard.index", 0);
+        int shardCount = BrowserConfig.getInt("shard.count", 1);
+        int forkCount = BrowserConfig.getInt("fork.count", 1);
+        if (shardCount > 1 && forkCount > 1) {
+            throw new IllegalStateException("shard.count=" + shardCount + " and fork.count=" + forkCount
+                    + " must not be combined: this class runs in one fork bin only, so rows of the other shards"
+                    + " would never run. Split the login matrix with shard.* or the whole run with fork.*");
+        }
+        List<LoginCase> shard = LoginMatrix.shard(cases, shardIndex, shardCount);
+        logger.info("Login matrix shard {} of {}: {} of {} row(s)", shardIndex, shardCount, shard.size(), cases.size());
+        return shard.stream();
+    }
+
+    /**
+     * Cleanup after each row - release WebDriver (recycled unless the row failed)
+     */
+    @AfterEach
+    public void tearDown() {
+        DriverManager.quitDriver();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("loginCases")
+    @Description("Log in with the row's credentials and verify the expected outcome and error text")
+    public void testLoginMatrixRow(LoginCase loginCase) {
+        logger.info("Login matrix row {}", loginCase);
+        LoginPage loginPage = new LoginPage();
+        loginPage.openLoginPage();
+        loginPage.login(loginCase.getUsername(), loginCase.getPassword());
+
+        LoginOutcome outcome = loginPage.getLoginOutcome();
+        assertEquals(loginCase.getExpectedOutcome(), outcome, "Unexpected login outcome for " + loginCase);
+        if (outcome == LoginOutcome.ERROR && !loginCase.getExpectedError().isEmpty()) {
+            String errorMessage = loginPage.getErrorMessage();
+            assertTrue(errorMessage.contains(loginCase.getExpectedError()),
+                    "Error message '" + errorMessage + "' should contain '" + loginCase.getExpectedError() + "'");
+        }
+    }
+}
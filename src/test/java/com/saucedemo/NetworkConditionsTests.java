@@ -0,0 +1,88 @@
+package com.saucedemo;
+
+import com.saucedemo.config.DriverManager;
+import com.saucedemo.extensions.DriverFailureExtension;
+import com.saucedemo.extensions.FailureArtifactsExtension;
+import com.saucedemo.extensions.LogContextExtension;
+import com.saucedemo.extensions.NetworkConditionsExtension;
+import com.saucedemo.extensions.TimingReportExtension;
+import com.saucedemo.network.NetworkConditions;
+import com.saucedemo.network.NetworkControl;
+import com.saucedemo.network.NetworkStats;
+import com.saucedemo.pages.LoginPage;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * NetworkConditionsTests checks the DevTools request interception of
+ * {@link NetworkConditions}: the login flow still works with images and fonts
+ * blocked and scripts and styles served from the asset store, and delay rules
+ * add latency. The functional suites run without interception unless it is
+ * switched on through the {@code network.*} configuration. Skipped on sessions
+ * without DevTools, such as HtmlUnit and remote sessions.
+ */
+@Feature("Network")
+@DisplayName("Network Conditions")
+@NetworkConditions(block = {"*.png*", "*.jpg*", "*.svg*", "*.woff*", "*.ttf*"},
+        cache = {"*/static/js/*", "*/static/css/*"})
+@ExtendWith({LogContextExtension.class, DriverFailureExtension.class, FailureArtifactsExtension.class,
+        TimingReportExtension.class, NetworkConditionsExtension.class})
+public class NetworkConditionsTests {
+
+    private static final Logger logger = LoggerFactory.getLogger(NetworkConditionsTests.class);
+    private LoginPage loginPage;
+
+    /**
+     * Setup before each test - skip sessions without DevTools, initialize LoginPage
+     */
+    @BeforeEach
+    public void setUp() {
+        assumeTrue(DriverManager.getDriver() instanceof HasDevTools, "Network rules need a DevTools session");
+        loginPage = new LoginPage();
+    }
+
+    /**
+     * Cleanup after each test - release WebDriver
+     */
+    @AfterEach
+    public void tearDown() {
+        DriverManager.quitDriver();
+    }
+
+    @Test
+    @DisplayName("Login works with images and fonts blocked and assets cached")
+    @Description("Open the login page through the interceptor and log in with standard_user")
+    public void testLoginWithInterceptedAssets() {
+        loginPage.openLoginPage();
+        NetworkStats stats = NetworkControl.getLastNavigationStats();
+        assertNotNull(stats, "Navigation should have been intercepted");
+        assertTrue(stats.getRequests() > 0, "Intercepted navigation should count its requests");
+        logger.info("Login page network: {}", stats);
+
+        loginPage.login("standard_user", "secret_sauce");
+        assertTrue(loginPage.isLoggedInSuccessfully(), "User should be logged in with assets blocked");
+    }
+
+    @Test
+    @DisplayName("Delay rules add latency to matching requests")
+    @Description("Delay every request of the login page and verify the added latency is recorded")
+    @NetworkConditions(delay = "*", delayMillis = 200)
+    public void testDelayedNavigation() {
+        loginPage.openLoginPage();
+        NetworkStats stats = NetworkControl.getLastNavigationStats();
+        assertNotNull(stats, "Navigation should have been intercepted");
+        assertTrue(stats.getDelayMillis() >= 200,
+                "At least the document should have been delayed, got " + stats.getDelayMillis() + " ms");
+    }
+}
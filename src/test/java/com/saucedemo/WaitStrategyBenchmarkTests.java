@@ -0,0 +1,133 @@
+package com.saucedemo;
+
+import com.saucedemo.config.BrowserConfig;
+import com.saucedemo.config.DriverManager;
+import com.saucedemo.extensions.DriverFailureExtension;
+import com.saucedemo.extensions.LogContextExtension;
+import com.saucedemo.metrics.LatencyHistogram;
+import com.saucedemo.pages.LoginPage;
+import com.saucedemo.pages.LoginPage.LoginOutcome;
+import com.saucedemo.pages.WaitEngine;
+import com.saucedemo.pages.WaitEngine.Strategy;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * WaitStrategyBenchmarkTests runs the same login checks with the configured
+ * {@code wait.strategy} and records the measured wait latency and time per test in
+ * target/performance/wait-strategies/&lt;strategy&gt;.properties. Once more than one
+ * strategy has run, the comparison is logged; results are machine specific and not
+ * committed. Excluded from regular runs; run once per strategy:
+ * {@code mvn test -Dgroups=benchmark -DexcludedGroups= -Dtest=WaitStrategyBenchmarkTests -Dwait.strategy=legacy}
+ * and again with {@code -Dwait.strategy=adaptive} and {@code -Dwait.strategy=observer}
+ */
+@Feature("Performance")
+@Tag("benchmark")
+@DisplayName("Wait Strategy Benchmark")
+@ExtendWith({LogContextExtension.class, DriverFailureExtension.class})
+public class WaitStrategyBenchmarkTests {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitStrategyBenchmarkTests.class);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 20);
+    private static final Path RESULTS_DIR = Paths.get("target", "performance", "wait-strategies");
+
+    /**
+     * Cleanup after each test - release WebDriver
+     */
+    @AfterEach
+    public void tearDown() {
+        DriverManager.quitDriver();
+    }
+
+    @Test
+    @DisplayName("Login checks with the configured wait strategy")
+    @Description("Measure wait latency and time per test of successful and locked-out logins")
+    public void benchmarkLoginChecks() throws IOException {
+        Strategy strategy = Strategy.valueOf(BrowserConfig.get("wait.strategy", "observer").toUpperCase());
+        LatencyHistogram perTest = new LatencyHistogram();
+        LatencyHistogram waitPerTest = new LatencyHistogram();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            boolean lockedOut = i % 2 == 1;
+            long waitedBefore = WaitEngine.getWaitMillis(strategy);
+            long start = System.nanoTime();
+            LoginPage loginPage = new LoginPage();
+            loginPage.openLoginPage();
+            loginPage.login(lockedOut ? "locked_out_user" : "standard_user", "secret_sauce");
+            if (lockedOut) {
+                assertEquals(LoginOutcome.ERROR, loginPage.getLoginOutcome(), "Locked out user should see an error");
+                assertTrue(loginPage.getErrorMessage().contains("locked out"),
+                        "Error message should mention that the user is locked out");
+            } else {
+                assertEquals(LoginOutcome.SUCCESS, loginPage.getLoginOutcome(), "User should be logged in");
+            }
+            perTest.record((System.nanoTime() - start) / 1_000);
+            waitPerTest.record((WaitEngine.getWaitMillis(strategy) - waitedBefore) * 1_000);
+            DriverManager.quitDriver();
+        }
+
+        Properties result = new Properties();
+        result.setProperty("tests", String.valueOf(ITERATIONS));
+        result.setProperty("perTest.p50Millis", String.valueOf(perTest.getValueAtPercentile(50) / 1_000));
+        result.setProperty("perTest.p95Millis", String.valueOf(perTest.getValueAtPercentile(95) / 1_000));
+        result.setProperty("waitPerTest.p50Millis", String.valueOf(waitPerTest.getValueAtPercentile(50) / 1_000));
+        result.setProperty("waitPerTest.p95Millis", String.valueOf(waitPerTest.getValueAtPercentile(95) / 1_000));
+        String name = strategy.name().toLowerCase();
+        write(name, result);
+        logger.info("Wait strategy [{}]: {}", name, result);
+        logComparison();
+    }
+
+    private static void write(String strategy, Properties result) throws IOException {
+        Files.createDirectories(RESULTS_DIR);
+        try (OutputStream out = Files.newOutputStream(RESULTS_DIR.resolve(strategy + ".properties"))) {
+            result.store(out, "Wait strategy benchmark");
+        }
+    }
+
+    private static void logComparison() throws IOException {
+        Properties legacy = read("legacy");
+        Properties adaptive = read("adaptive");
+        Properties observer = read("observer");
+        if (legacy == null || (adaptive == null && observer == null)) {
+            logger.info("Run the benchmark with wait.strategy=legacy and adaptive or observer to compare them");
+            return;
+        }
+        logger.info("Wait strategy comparison (legacy | adaptive | observer):");
+        for (String key : new TreeSet<>(legacy.stringPropertyNames())) {
+            logger.info("  {}: {} | {} | {}", key, legacy.getProperty(key),
+                    adaptive == null ? "-" : adaptive.getProperty(key, "-"),
+                    observer == null ? "-" : observer.getProperty(key, "-"));
+        }
+    }
+
+    private static Properties read(String strategy) throws IOException {
+        Path file = RESULTS_DIR.resolve(strategy + ".properties");
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        return properties;
+    }
+}
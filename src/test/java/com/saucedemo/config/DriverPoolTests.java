@@ -0,0 +1,258 @@
+package com.saucedemo.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DriverPoolTests checks the pool's size bound, retirement, health checks and
+ * borrow timeout with in-memory drivers, without launching a browser.
+ */
+@DisplayName("Driver Pool")
+public class DriverPoolTests {
+
+    private final FakeDrivers drivers = new FakeDrivers();
+    private final List<DriverPool> pools = new ArrayList<>();
+
+    /**
+     * Quit the drivers left in the pools of the test
+     */
+    @AfterEach
+    public void tearDown() {
+        drivers.unblock();
+        pools.forEach(DriverPool::shutdown);
+    }
+
+    @Test
+    @DisplayName("Concurrent borrowers never hold more drivers than the pool size")
+    public void sizeIsBoundedUnderConcurrentBorrowers() throws Exception {
+        drivers.launchMillis = 20;
+        DriverPool pool = pool(2, 0, Duration.ofSeconds(10));
+        ExecutorService workers = Executors.newFixedThreadPool(6);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 24; i++) {
+                results.add(workers.submit(() -> {
+                    WebDriver driver = pool.borrow();
+                    pause(5);
+                    pool.release(driver);
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        assertTrue(drivers.maxAlive.get() <= 2, "At most 2 drivers alive, got " + drivers.maxAlive.get());
+        assertTrue(pool.getCreatedCount() <= 2, "Idle drivers are reused, created " + pool.getCreatedCount());
+        assertEquals(0, pool.getBorrowedCount(), "All drivers returned");
+    }
+
+    @Test
+    @DisplayName("A driver is retired after maxUses borrows")
+    public void retiresDriverAtMaxUses() {
+        DriverPool pool = pool(1, 2, Duration.ofSeconds(5));
+        WebDriver first = pool.borrow();
+        pool.release(first);
+        assertSame(first, pool.borrow(), "Second borrow reuses the idle driver");
+        pool.release(first);
+        assertTrue(drivers.isQuit(first), "Driver is quit after 2 uses");
+        assertEquals(0, pool.getIdleCount(), "Retired driver is not kept idle");
+
+        WebDriver second = pool.borrow();
+        assertNotSame(first, second, "A new driver replaces the retired one");
+        assertEquals(2, pool.getCreatedCount());
+    }
+
+    @Test
+    @DisplayName("A driver retired at maxUses is replaced by a spare")
+    public void retiredDriverIsReplacedBySpare() {
+        DriverPool pool = new DriverPool(1, 1, Duration.ofSeconds(5), drivers, 1, 1);
+        pools.add(pool);
+        WebDriver first = pool.borrow();
+        pool.release(first);
+        assertTrue(drivers.isQuit(first), "Driver is quit after 1 use");
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pool.getIdleCount() == 0 && System.nanoTime() < deadline) {
+            pause(10);
+        }
+        assertEquals(1, pool.getIdleCount(), "A spare is warmed up in place of the retired driver");
+        assertEquals(1, pool.getWarmedCount(), "The replacement was started in the background");
+    }
+
+    @Test
+    @DisplayName("An unhealthy idle driver is discarded instead of handed out")
+    public void discardsUnhealthyIdleDriver() {
+        DriverPool pool = pool(1, 0, Duration.ofSeconds(5));
+        WebDriver first = pool.borrow();
+        pool.release(first);
+        drivers.crash(first);
+
+        WebDriver second = pool.borrow();
+        assertNotSame(first, second, "Crashed idle driver is not reused");
+        assertTrue(drivers.isQuit(first), "Crashed idle driver is quit");
+        assertEquals(1, drivers.alive.get(), "Only the replacement is alive");
+    }
+
+    @Test
+    @DisplayName("Borrowing fails after the timeout when every driver is in use")
+    public void borrowTimesOutWhenPoolIsExhausted() {
+        DriverPool pool = pool(1, 0, Duration.ofMillis(200));
+        pool.borrow();
+        long start = System.nanoTime();
+        assertThrows(IllegalStateException.class, pool::borrow, "Second borrow times out");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(elapsedMillis >= 150 && elapsedMillis < 1000, "Waited about the timeout: " + elapsedMillis);
+    }
+
+    @Test
+    @DisplayName("Spares are only started in room left by drivers being launched")
+    public void sparesNeverExceedPoolSize() throws Exception {
+        drivers.launchMillis = 50;
+        DriverPool pool = new DriverPool(2, 0, Duration.ofSeconds(5), drivers, 1, 2);
+        pools.add(pool);
+        ExecutorService workers = Executors.newFixedThreadPool(2);
+        try {
+            Future<WebDriver> first = workers.submit(pool::borrow);
+            Future<WebDriver> second = workers.submit(pool::borrow);
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        } finally {
+            workers.shutdownNow();
+        }
+        pause(200);
+        assertTrue(drivers.maxAlive.get() <= 2, "At most 2 drivers alive, got " + drivers.maxAlive.get());
+        assertEquals(0, pool.getWarmingCount(), "No spare fits into a full pool");
+    }
+
+    @Test
+    @DisplayName("Waiting for a slot and then for a warming driver share one timeout")
+    public void borrowTimeoutCoversPermitAndWarmWait() throws Exception {
+        DriverPool pool = pool(1, 0, Duration.ofMillis(300));
+        WebDriver held = pool.borrow();
+        drivers.block();
+        Thread releaser = new Thread(() -> {
+            pause(150);
+            // Holding the pool's lock keeps the borrower from launching its own driver in between
+            synchronized (pool) {
+                pool.invalidate(held);
+                pool.warmUp(1);
+            }
+        });
+        releaser.start();
+        long start = System.nanoTime();
+        assertThrows(IllegalStateException.class, pool::borrow, "Warm driver never becomes ready");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        releaser.join();
+        assertTrue(elapsedMillis < 500, "Borrow waited at most about the timeout: " + elapsedMillis);
+    }
+
+    private DriverPool pool(int maxSize, int maxUses, Duration timeout) {
+        DriverPool pool = new DriverPool(maxSize, maxUses, timeout, drivers);
+        pools.add(pool);
+        return pool;
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Creates in-memory drivers and counts how many are alive at the same time
+     */
+    static class FakeDrivers implements Supplier<WebDriver> {
+        final AtomicInteger alive = new AtomicInteger();
+        final AtomicInteger maxAlive = new AtomicInteger();
+        private final List<WebDriver> quit = new ArrayList<>();
+        private final List<WebDriver> crashed = new ArrayList<>();
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+        volatile long launchMillis;
+
+        @Override
+        public WebDriver get() {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            pause(launchMillis);
+            maxAlive.accumulateAndGet(alive.incrementAndGet(), Math::max);
+            WebDriver[] self = new WebDriver[1];
+            self[0] = (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(),
+                    new Class<?>[]{WebDriver.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "quit":
+                                markQuit(self[0]);
+                                return null;
+                            case "getWindowHandle":
+                                if (isCrashed(self[0])) {
+                                    throw new NoSuchSessionException("crashed");
+                                }
+                                return "window";
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "equals":
+                                return proxy == args[0];
+                            case "toString":
+                                return "FakeDriver@" + Integer.toHexString(System.identityHashCode(proxy));
+                            default:
+                                return null;
+                        }
+                    });
+            return self[0];
+        }
+
+        /**
+         * Make following launches wait until {@link #unblock()}
+         */
+        void block() {
+            gate = new CountDownLatch(1);
+        }
+
+        void unblock() {
+            gate.countDown();
+        }
+
+        synchronized void crash(WebDriver driver) {
+            crashed.add(driver);
+        }
+
+        synchronized boolean isQuit(WebDriver driver) {
+            return quit.contains(driver);
+        }
+
+        private synchronized boolean isCrashed(WebDriver driver) {
+            return crashed.contains(driver);
+        }
+
+        private synchronized void markQuit(WebDriver driver) {
+            if (!quit.contains(driver)) {
+                quit.add(driver);
+                alive.decrementAndGet();
+            }
+        }
+    }
+}
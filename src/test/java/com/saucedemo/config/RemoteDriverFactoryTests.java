@@ -0,0 +1,55 @@
+package com.saucedemo.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RemoteDriverFactoryTests checks how Chrome slots are counted from a Selenium Grid 4
+ * /status response (grid-status.json on the test classpath), without a Grid.
+ */
+@DisplayName("Remote Driver Factory")
+public class RemoteDriverFactoryTests {
+
+    @Test
+    @DisplayName("Only Chrome slots of nodes that are up are counted, busy ones as not free")
+    public void countsChromeSlotsOfGridStatus() {
+        int[] slots = RemoteDriverFactory.countChromeSlots(resource("grid-status.json"));
+        assertEquals(4, slots[1], "Chrome slots on UP nodes; firefox, Edge, DOWN and DRAINING nodes ignored");
+        assertEquals(2, slots[0], "Chrome slots without a session");
+    }
+
+    @Test
+    @DisplayName("A standalone server with every slot busy has no free slot")
+    public void countsBusyStandalone() {
+        String status = "{\"value\": {\"ready\": false, \"message\": \"Selenium Grid not ready.\", \"nodes\": [{"
+                + "\"availability\": \"UP\", \"slots\": [{\"session\": {\"sessionId\": \"1\"},"
+                + " \"stereotype\": {\"browserName\": \"chrome\"}}]}]}}";
+        int[] slots = RemoteDriverFactory.countChromeSlots(status);
+        assertEquals(0, slots[0]);
+        assertEquals(1, slots[1]);
+    }
+
+    @Test
+    @DisplayName("A response without nodes has no slots")
+    public void countsNoSlotsWithoutNodes() {
+        int[] slots = RemoteDriverFactory.countChromeSlots("{\"value\": {\"ready\": false, \"message\": \"starting\"}}");
+        assertEquals(0, slots[0]);
+        assertEquals(0, slots[1]);
+    }
+
+    private static String resource(String name) {
+        try (InputStream in = RemoteDriverFactoryTests.class.getClassLoader().getResourceAsStream(name)) {
+            assertNotNull(in, name + " is on the test classpath");
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.saucedemo.data;
+
+import com.saucedemo.pages.LoginPage.LoginOutcome;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LoginMatrixParsingTests checks the CSV and JSON parsing of the login matrix and
+ * that its shards cover every row exactly once, without a browser.
+ */
+@DisplayName("Login Matrix Parsing")
+public class LoginMatrixParsingTests {
+
+    @Test
+    @DisplayName("Quoted fields keep their commas and quotes")
+    public void parsesQuotedCsvFields() {
+        List<LoginCase> cases = LoginMatrix.parseCsv("username,password,outcome,error\n"
+                + "locked_out_user,secret_sauce,ERROR,\"Sorry, this user has been locked out\"\n"
+                + "standard_user,\"pass,\"\"word\",ERROR,\"Username and password do not match\"\n");
+        assertEquals(2, cases.size());
+        assertEquals("Sorry, this user has been locked out", cases.get(0).getExpectedError());
+        assertEquals("pass,\"word", cases.get(1).getPassword());
+        assertEquals(LoginOutcome.ERROR, cases.get(1).getExpectedOutcome());
+    }
+
+    @Test
+    @DisplayName("Empty fields, missing trailing fields, comments and blank lines")
+    public void parsesEmptyFieldsAndSkipsComments() {
+        List<LoginCase> cases = LoginMatrix.parseCsv("# comment before the header\r\n"
+                + "username,password,outcome,error\r\n"
+                + "\r\n"
+                + ",secret_sauce,ERROR,Username is required\r\n"
+                + "# comment between rows\r\n"
+                + "standard_user,secret_sauce,success\r\n");
+        assertEquals(2, cases.size());
+        assertEquals("", cases.get(0).getUsername(), "Empty username");
+        assertEquals("Username is required", cases.get(0).getExpectedError());
+        assertEquals(LoginOutcome.SUCCESS, cases.get(1).getExpectedOutcome(), "Outcome is case-insensitive");
+        assertEquals("", cases.get(1).getExpectedError(), "Missing error field is empty");
+        assertEquals(0, cases.get(0).getRow());
+        assertEquals(1, cases.get(1).getRow(), "Rows are numbered without comments and blank lines");
+    }
+
+    @Test
+    @DisplayName("An unknown outcome is rejected")
+    public void rejectsUnknownOutcome() {
+        assertThrows(IllegalStateException.class,
+                () -> LoginMatrix.parseCsv("username,password,outcome,error\nuser,pass,MAYBE,\n"));
+    }
+
+    @Test
+    @DisplayName("JSON rows, with missing keys as empty values")
+    public void parsesJson() {
+        List<LoginCase> cases = LoginMatrix.parseJson("["
+                + "{\"username\": \"locked_out_user\", \"password\": \"secret_sauce\", \"outcome\": \"ERROR\","
+                + " \"error\": \"Sorry, this user has been locked out\"},"
+                + "{\"username\": \"\", \"password\": \"secret_sauce\", \"outcome\": \"ERROR\"}"
+                + "]");
+        assertEquals(2, cases.size());
+        assertEquals("Sorry, this user has been locked out", cases.get(0).getExpectedError());
+        assertEquals("", cases.get(1).getUsername());
+        assertEquals("", cases.get(1).getExpectedError());
+    }
+
+    @Test
+    @DisplayName("The bundled matrix loads from the classpath")
+    public void loadsBundledMatrix() {
+        List<LoginCase> cases = LoginMatrix.load("login-matrix.csv");
+        assertEquals(11, cases.size());
+        assertTrue(cases.stream().anyMatch(loginCase -> loginCase.getUsername().isEmpty()), "Empty username row");
+        assertTrue(cases.stream().anyMatch(loginCase ->
+                loginCase.getExpectedError().equals("Sorry, this user has been locked out")), "Locked out row");
+    }
+
+    @Test
+    @DisplayName("Shards cover every row exactly once")
+    public void shardsCoverEveryRowOnce() {
+        List<LoginCase> cases = LoginMatrix.load("login-matrix.csv");
+        for (int shardCount = 1; shardCount <= cases.size(); shardCount++) {
+            List<Integer> rows = new ArrayList<>();
+            int smallest = Integer.MAX_VALUE;
+            int largest = 0;
+            for (int shardIndex = 0; shardIndex < shardCount; shardIndex++) {
+                List<LoginCase> shard = LoginMatrix.shard(cases, shardIndex, shardCount);
+                shard.forEach(loginCase -> rows.add(loginCase.getRow()));
+                smallest = Math.min(smallest, shard.size());
+                largest = Math.max(largest, shard.size());
+            }
+            rows.sort(Integer::compare);
+            List<Integer> expected = new ArrayList<>();
+            cases.forEach(loginCase -> expected.add(loginCase.getRow()));
+            assertEquals(expected, rows, "Every row once with " + shardCount + " shard(s)");
+            assertTrue(largest - smallest <= 1, "Shards differ by at most one row with " + shardCount);
+        }
+    }
+
+    @Test
+    @DisplayName("An invalid shard is rejected")
+    public void rejectsInvalidShard() {
+        List<LoginCase> cases = LoginMatrix.load("login-matrix.csv");
+        assertThrows(IllegalStateException.class, () -> LoginMatrix.shard(cases, 3, 3));
+        assertThrows(IllegalStateException.class, () -> LoginMatrix.shard(cases, -1, 3));
+        assertThrows(IllegalStateException.class, () -> LoginMatrix.shard(cases, 0, 0));
+    }
+}
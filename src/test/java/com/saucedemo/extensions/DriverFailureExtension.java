@@ -0,0 +1,27 @@
+package com.saucedemo.extensions;
+
+import com.saucedemo.config.DriverManager;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.LifecycleMethodExecutionExceptionHandler;
+import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
+
+/**
+ * DriverFailureExtension marks the current WebDriver as failed when a test
+ * or its setup throws, so the session is quit instead of being recycled.
+ * Runs before {@code @AfterEach}, where the driver is released.
+ */
+public class DriverFailureExtension implements TestExecutionExceptionHandler, LifecycleMethodExecutionExceptionHandler {
+
+    @Override
+    public void handleTestExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
+        DriverManager.markDriverFailed();
+        throw throwable;
+    }
+
+    @Override
+    public void handleBeforeEachMethodExecutionException(ExtensionContext context, Throwable throwable)
+            throws Throwable {
+        DriverManager.markDriverFailed();
+        throw throwable;
+    }
+}
@@ -0,0 +1,172 @@
+package com.saucedemo.extensions;
+
+import com.saucedemo.config.BrowserConfig;
+import com.saucedemo.config.DriverManager;
+import com.saucedemo.utils.ActionJournal;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.LifecycleMethodExecutionExceptionHandler;
+import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FailureArtifactsExtension captures a screenshot, the page source, the recent
+ * page actions and the browser console of a failing test. Passing tests only pay
+ * for the in-memory {@link ActionJournal}; on failure the data is fetched from the
+ * still-open browser, then written to {@code artifacts.dir} and attached to the
+ * Allure result in the background. Runs before {@code @AfterEach} releases the driver.
+ */
+public class FailureArtifactsExtension implements BeforeEachCallback, TestExecutionExceptionHandler,
+        LifecycleMethodExecutionExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(FailureArtifactsExtension.class);
+    private static final Path ARTIFACTS_DIR = Paths.get(BrowserConfig.get("artifacts.dir", "target/failure-artifacts"));
+    private static final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "failure-artifacts");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final AtomicLong captures = new AtomicLong();
+    private static final AtomicLong captureNanos = new AtomicLong();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(FailureArtifactsExtension::finish, "failure-artifacts-flush"));
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        ActionJournal.start();
+    }
+
+    @Override
+    public void handleTestExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
+        capture(context, throwable);
+        throw throwable;
+    }
+
+    @Override
+    public void handleBeforeEachMethodExecutionException(ExtensionContext context, Throwable throwable)
+            throws Throwable {
+        capture(context, throwable);
+        throw throwable;
+    }
+
+    private void capture(ExtensionContext context, Throwable failure) {
+        String testName = context.getRequiredTestClass().getSimpleName() + "."
+                + context.getRequiredTestMethod().getName();
+        long start = System.nanoTime();
+        byte[] screenshot = null;
+        String pageSource = null;
+        List<String> console = new ArrayList<>();
+        if (DriverManager.isDriverInitialized()) {
+            WebDriver driver = DriverManager.getDriver();
+            try {
+                screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            } catch (WebDriverException | ClassCastException e) {
+                logger.debug("No screenshot for {}: {}", testName, e.getMessage());
+            }
+            try {
+                pageSource = driver.getPageSource();
+            } catch (WebDriverException e) {
+                logger.debug("No page source for {}: {}", testName, e.getMessage());
+            }
+            console = readConsole(driver, ActionJournal.getStartedAt());
+        }
+        List<String> journal = ActionJournal.snapshot();
+        captures.incrementAndGet();
+        captureNanos.addAndGet(System.nanoTime() - start);
+
+        byte[] png = screenshot;
+        byte[] source = pageSource == null ? null : pageSource.getBytes(StandardCharsets.UTF_8);
+        byte[] report = formatReport(failure, journal, console).getBytes(StandardCharsets.UTF_8);
+        if (png != null) {
+            Allure.addByteAttachmentAsync("Screenshot", "image/png", ".png", () -> png);
+        }
+        if (source != null) {
+            Allure.addByteAttachmentAsync("Page source", "text/html", ".html", () -> source);
+        }
+        Allure.addByteAttachmentAsync("Actions and console", "text/plain", ".txt", () -> report);
+        writer.submit(() -> write(testName, png, source, report));
+        logger.info("Failure artifacts of {} captured in {} ms", testName, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static List<String> readConsole(WebDriver driver, long since) {
+        List<String> lines = new ArrayList<>();
+        try {
+            for (LogEntry entry : driver.manage().logs().get(LogType.BROWSER)) {
+                if (entry.getTimestamp() >= since) {
+                    lines.add(Instant.ofEpochMilli(entry.getTimestamp()) + " " + entry.getLevel() + " "
+                            + entry.getMessage());
+                }
+            }
+        } catch (WebDriverException | UnsupportedOperationException e) {
+            logger.debug("Browser console not available: {}", e.getMessage());
+        }
+        return lines;
+    }
+
+    private static String formatReport(Throwable failure, List<String> journal, List<String> console) {
+        StringBuilder report = new StringBuilder();
+        report.append("Failure: ").append(failure).append("\n\nRecent actions:\n");
+        journal.forEach(line -> report.append(line).append('\n'));
+        report.append("\nBrowser console:\n");
+        if (console.isEmpty()) {
+            report.append("(no entries)\n");
+        }
+        console.forEach(line -> report.append(line).append('\n'));
+        return report.toString();
+    }
+
+    private static void write(String testName, byte[] screenshot, byte[] pageSource, byte[] report) {
+        Path dir = ARTIFACTS_DIR.resolve(testName + "-" + System.currentTimeMillis());
+        try {
+            Files.createDirectories(dir);
+            if (screenshot != null) {
+                Files.write(dir.resolve("screenshot.png"), screenshot);
+            }
+            if (pageSource != null) {
+                Files.write(dir.resolve("page-source.html"), pageSource);
+            }
+            Files.write(dir.resolve("actions-and-console.txt"), report);
+            logger.info("Failure artifacts of {} written to {}", testName, dir);
+        } catch (IOException e) {
+            logger.warn("Could not write failure artifacts of {}: {}", testName, e.getMessage());
+        }
+    }
+
+    private static void finish() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("Failure artifacts still being written at exit");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long count = captures.get();
+        logger.info("Failure artifacts: {} action(s) journaled, {} failure(s) captured{}",
+                ActionJournal.getTotalRecorded(), count,
+                count == 0 ? "" : ", avg " + captureNanos.get() / count / 1_000_000 + " ms on the test thread");
+    }
+}
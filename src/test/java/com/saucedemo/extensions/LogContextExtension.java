@@ -0,0 +1,27 @@
+package com.saucedemo.extensions;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.MDC;
+
+/**
+ * LogContextExtension puts the name of the running test into the logging MDC
+ * under {@code test}, so interleaved output of parallel tests can be told apart.
+ * The key is set before {@code @BeforeEach} and removed after {@code @AfterEach}.
+ */
+public class LogContextExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final String TEST_KEY = "test";
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        MDC.put(TEST_KEY, context.getRequiredTestClass().getSimpleName() + "."
+                + context.getRequiredTestMethod().getName());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        MDC.remove(TEST_KEY);
+    }
+}
@@ -0,0 +1,29 @@
+package com.saucedemo.extensions;
+
+import com.saucedemo.network.NetworkConditions;
+import com.saucedemo.network.NetworkControl;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * NetworkConditionsExtension applies the {@link NetworkConditions} of a test method,
+ * or else of its class, to the navigations of the test. Tests without the annotation
+ * use the {@code network.*} configuration.
+ */
+public class NetworkConditionsExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        NetworkConditions conditions = context.getRequiredTestMethod().getAnnotation(NetworkConditions.class);
+        if (conditions == null) {
+            conditions = context.getRequiredTestClass().getAnnotation(NetworkConditions.class);
+        }
+        NetworkControl.setTestConditions(conditions);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        NetworkControl.clearTestConditions();
+    }
+}
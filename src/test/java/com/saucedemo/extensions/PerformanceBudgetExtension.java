@@ -0,0 +1,26 @@
+package com.saucedemo.extensions;
+
+import com.saucedemo.metrics.Budgets;
+import com.saucedemo.metrics.PerformanceBudget;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * PerformanceBudgetExtension checks the {@link PerformanceBudget} annotations of a
+ * test right after it ran, before {@code @AfterEach}, while its step timings are
+ * still collected. Tests that already failed are not checked.
+ * Requires {@link TimingReportExtension}.
+ */
+public class PerformanceBudgetExtension implements AfterTestExecutionCallback {
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+        PerformanceBudget[] budgets = context.getRequiredTestMethod().getAnnotationsByType(PerformanceBudget.class);
+        if (budgets.length > 0) {
+            Budgets.verify(budgets);
+        }
+    }
+}
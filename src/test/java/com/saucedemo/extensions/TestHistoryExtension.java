@@ -0,0 +1,40 @@
+package com.saucedemo.extensions;
+
+import com.saucedemo.metrics.TestHistory;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * TestHistoryExtension records the duration and result of every test in the
+ * {@link TestHistory}, which orders and distributes the next run. Timing includes
+ * {@code @BeforeEach} and {@code @AfterEach}, since driver setup is part of what a
+ * worker spends on a test. Registered for all test classes through extension
+ * auto-detection (see junit-platform.properties); the history is saved at exit.
+ */
+public class TestHistoryExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(
+            TestHistoryExtension.class);
+    private static final String START = "start";
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> TestHistory.shared().save(), "test-history-save"));
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Long start = context.getStore(NAMESPACE).remove(START, Long.class);
+        if (start == null) {
+            return;
+        }
+        TestHistory.shared().record(
+                TestHistory.key(context.getRequiredTestClass().getName(), context.getRequiredTestMethod().getName()),
+                (System.nanoTime() - start) / 1_000_000, context.getExecutionException().isPresent());
+    }
+}
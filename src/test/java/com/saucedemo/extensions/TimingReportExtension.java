@@ -0,0 +1,31 @@
+package com.saucedemo.extensions;
+
+import com.saucedemo.metrics.TestTimings;
+import com.saucedemo.metrics.Timings;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * TimingReportExtension collects the step timings of each test and attaches
+ * them to the Allure report as JSON. Timing starts before {@code @BeforeEach}
+ * and ends after {@code @AfterEach}, so setup and teardown steps are included.
+ */
+public class TimingReportExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        Timings.startTest(context.getRequiredTestClass().getSimpleName() + "."
+                + context.getRequiredTestMethod().getName());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        TestTimings timings = Timings.finishTest();
+        if (timings != null && !timings.getSteps().isEmpty()) {
+            Allure.addAttachment("Step timings", "application/json",
+                    Timings.toJson(timings.toReport()), ".json");
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.saucedemo.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LatencyHistogramTests checks the bucket precision of the percentiles and the
+ * edge cases of the recorded range.
+ */
+@DisplayName("Latency Histogram")
+public class LatencyHistogramTests {
+
+    @Test
+    @DisplayName("Percentiles of a uniform distribution are within bucket precision")
+    public void percentilesOfUniformDistribution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros);
+        }
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(1, histogram.getMin());
+        assertEquals(10_000, histogram.getMax());
+        assertEquals(5_000.5, histogram.getMean(), 0.001);
+        assertWithinBucket(5_000, histogram.getValueAtPercentile(50));
+        assertWithinBucket(9_500, histogram.getValueAtPercentile(95));
+        assertWithinBucket(9_900, histogram.getValueAtPercentile(99));
+        assertEquals(10_000, histogram.getValueAtPercentile(100), "p100 is the maximum");
+    }
+
+    @Test
+    @DisplayName("Values below 128 are exact")
+    public void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 0; micros < 100; micros++) {
+            histogram.record(micros);
+        }
+        assertEquals(49, histogram.getValueAtPercentile(50));
+        assertEquals(94, histogram.getValueAtPercentile(95));
+        assertEquals(98, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    @DisplayName("Skewed distribution: the tail percentiles find the slow values")
+    public void percentilesOfSkewedDistribution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 900; i++) {
+            histogram.record(2_000);
+        }
+        for (int i = 0; i < 90; i++) {
+            histogram.record(50_000);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(1_000_000);
+        }
+        assertWithinBucket(2_000, histogram.getValueAtPercentile(50));
+        assertWithinBucket(2_000, histogram.getValueAtPercentile(90));
+        assertWithinBucket(50_000, histogram.getValueAtPercentile(95));
+        assertWithinBucket(50_000, histogram.getValueAtPercentile(99));
+        assertEquals(1_000_000, histogram.getValueAtPercentile(99.9), "Capped at the recorded maximum");
+    }
+
+    @Test
+    @DisplayName("Empty histogram, zero and negative values")
+    public void zeroAndEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(50), "Empty histogram");
+        assertEquals(0, histogram.getMin(), "Empty histogram");
+        assertEquals(0.0, histogram.getMean(), 0.0);
+
+        histogram.record(0);
+        histogram.record(-5);
+        assertEquals(2, histogram.getCount());
+        assertEquals(0, histogram.getMin());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(99), "Negative values are recorded as 0");
+    }
+
+    @Test
+    @DisplayName("The largest long value has a bucket")
+    public void maximumValue() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.getMax());
+        assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+        assertEquals(1, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    @DisplayName("Merging histograms keeps counts, extremes and percentiles")
+    public void addMergesHistograms() {
+        LatencyHistogram fast = new LatencyHistogram();
+        LatencyHistogram slow = new LatencyHistogram();
+        for (int i = 0; i < 50; i++) {
+            fast.record(1_000);
+            slow.record(9_000);
+        }
+        fast.add(slow);
+        assertEquals(100, fast.getCount());
+        assertEquals(1_000, fast.getMin());
+        assertEquals(9_000, fast.getMax());
+        assertWithinBucket(1_000, fast.getValueAtPercentile(50));
+        assertWithinBucket(9_000, fast.getValueAtPercentile(51));
+    }
+
+    @Test
+    @DisplayName("The summary is in milliseconds")
+    public void summaryInMilliseconds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_500);
+        histogram.record(2_500);
+        Map<String, Object> summary = histogram.toSummary();
+        assertEquals(2L, summary.get("count"));
+        assertEquals(1.5, (Double) summary.get("minMs"), 0.0);
+        assertEquals(2.0, (Double) summary.get("meanMs"), 0.0);
+        assertEquals(2.5, (Double) summary.get("maxMs"), 0.0);
+    }
+
+    /**
+     * A percentile is reported as the highest value of its bucket, at most 1/64 above the exact value
+     */
+    private static void assertWithinBucket(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / 64,
+                "Expected " + expected + " within bucket precision, got " + actual);
+    }
+}
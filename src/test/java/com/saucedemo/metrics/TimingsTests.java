@@ -0,0 +1,67 @@
+package com.saucedemo.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.json.Json;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TimingsTests checks the run report: steps, users and the per-test timings.
+ * Step names are unique to this class, since the run-wide timings are shared.
+ */
+@DisplayName("Timings")
+public class TimingsTests {
+
+    @Test
+    @DisplayName("Steps are reported per step and per user")
+    @SuppressWarnings("unchecked")
+    public void reportContainsStepsAndUsers() {
+        Timings.setCurrentUser("timings_tests_user");
+        try {
+            Timings.recordMillis("timingsTests.login", 12);
+            Timings.recordMillis("timingsTests.login", 20);
+        } finally {
+            Timings.setCurrentUser(null);
+        }
+
+        Map<String, Object> report = Timings.toReport();
+        Map<String, Object> step = (Map<String, Object>) ((Map<String, Object>) report.get("steps"))
+                .get("timingsTests.login");
+        assertNotNull(step, "Step summary present");
+        assertEquals(2L, step.get("count"));
+        assertEquals(12.0, (Double) step.get("minMs"), 0.0);
+        assertEquals(20.0, (Double) step.get("maxMs"), 0.0);
+        Map<String, Object> user = (Map<String, Object>) ((Map<String, Object>) report.get("users"))
+                .get("timings_tests_user");
+        assertNotNull(user.get("timingsTests.login"), "Step reported for the user");
+    }
+
+    @Test
+    @DisplayName("The report serializes to JSON and back")
+    @SuppressWarnings("unchecked")
+    public void reportRoundTripsThroughJson() {
+        Timings.recordMillis("timingsTests.json", 7.5);
+        Map<String, Object> parsed = new Json().toType(Timings.toJson(Timings.toReport()), Json.MAP_TYPE);
+        Map<String, Object> step = (Map<String, Object>) ((Map<String, Object>) parsed.get("steps"))
+                .get("timingsTests.json");
+        assertNotNull(step, "Step present in the JSON report");
+        assertEquals(7.5, ((Number) step.get("p50Ms")).doubleValue(), 0.0);
+    }
+
+    @Test
+    @DisplayName("Timings of the current test are kept separately")
+    public void currentTestTimings() {
+        Timings.startTest("timingsTests");
+        try {
+            Timings.time("timingsTests.step", () -> { });
+            assertEquals(1, Timings.currentTest().getStep("timingsTests.step").getCount());
+        } finally {
+            TestTimings finished = Timings.finishTest();
+            assertEquals("timingsTests", finished.getTestName());
+        }
+        assertNull(Timings.currentTest(), "No test after finishTest");
+    }
+}
@@ -0,0 +1,156 @@
+package com.saucedemo.pages;
+
+import com.saucedemo.metrics.Timings;
+import com.saucedemo.pages.StepRetryPolicy.Failure;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * StepRetryPolicyTests checks the failure classification, the attempt limits and
+ * the backoff of step retries with steps that fail a given number of times.
+ */
+@DisplayName("Step Retry Policy")
+public class StepRetryPolicyTests {
+
+    private final StepRetryPolicy policy = new StepRetryPolicy(3, 1, 0, 0, EnumSet.allOf(Failure.class));
+
+    @Test
+    @DisplayName("Transient exceptions are classified, others are not")
+    public void classifiesExceptions() {
+        assertEquals(Failure.STALE, StepRetryPolicy.classify(new StaleElementReferenceException("stale")));
+        assertEquals(Failure.INTERCEPTED, StepRetryPolicy.classify(new ElementClickInterceptedException("overlay")));
+        assertEquals(Failure.NOT_INTERACTABLE,
+                StepRetryPolicy.classify(new ElementNotInteractableException("hidden")));
+        assertEquals(Failure.TIMEOUT, StepRetryPolicy.classify(new TimeoutException("slow")));
+        assertNull(StepRetryPolicy.classify(new NoSuchSessionException("gone")));
+        assertNull(StepRetryPolicy.classify(new IllegalStateException("bug")));
+    }
+
+    @Test
+    @DisplayName("A step that recovers is retried until it succeeds")
+    public void retriesUntilSuccess() {
+        FailingStep step = new FailingStep(new StaleElementReferenceException("first"),
+                new ElementClickInterceptedException("second"));
+        List<Failure> retried = new ArrayList<>();
+        assertEquals("done", policy.run("retryTests.recovers", step, retried::add));
+        assertEquals(3, step.attempts.get());
+        assertEquals(List.of(Failure.STALE, Failure.INTERCEPTED), retried);
+        assertEquals(1, Timings.getRetries("retryTests.recovers", "stale"));
+        assertEquals(1, Timings.getRetries("retryTests.recovers", "intercepted"));
+        assertEquals(0, Timings.getRetries("retryTests.recovers", "failedAfterRetry"));
+    }
+
+    @Test
+    @DisplayName("After maxAttempts the last failure is rethrown")
+    public void rethrowsLastFailureAfterMaxAttempts() {
+        ElementNotInteractableException last = new ElementNotInteractableException("third");
+        FailingStep step = new FailingStep(new StaleElementReferenceException("first"),
+                new StaleElementReferenceException("second"), last);
+        ElementNotInteractableException thrown = assertThrows(ElementNotInteractableException.class,
+                () -> policy.run("retryTests.exhausted", step, failure -> { }));
+        assertSame(last, thrown, "The last failure is rethrown");
+        assertEquals(3, step.attempts.get());
+        assertEquals(1, Timings.getRetries("retryTests.exhausted", "failedAfterRetry"));
+    }
+
+    @Test
+    @DisplayName("A timeout is retried only timeoutRetries times")
+    public void timeoutIsRetriedOnce() {
+        TimeoutException second = new TimeoutException("second");
+        FailingStep step = new FailingStep(new TimeoutException("first"), second);
+        assertSame(second, assertThrows(TimeoutException.class,
+                () -> policy.run("retryTests.timeout", step, failure -> { })));
+        assertEquals(2, step.attempts.get(), "One retry after a timeout, although maxAttempts is 3");
+    }
+
+    @Test
+    @DisplayName("A policy without timeouts, as used for clicks, never retries one")
+    public void timeoutIsNotRetriedWithoutTimeouts() {
+        TimeoutException timeout = new TimeoutException("clicked but slow");
+        FailingStep step = new FailingStep(timeout, timeout);
+        assertSame(timeout, assertThrows(TimeoutException.class,
+                () -> policy.without(Failure.TIMEOUT).run("retryTests.clickTimeout", step, failure -> { })));
+        assertEquals(1, step.attempts.get(), "A timed-out click is not sent again");
+
+        FailingStep stale = new FailingStep(new StaleElementReferenceException("re-rendered"));
+        policy.without(Failure.TIMEOUT).run("retryTests.clickStale", stale, failure -> { });
+        assertEquals(2, stale.attempts.get(), "Other kinds are still retried");
+    }
+
+    @Test
+    @DisplayName("A non-transient exception propagates at once")
+    public void nonTransientFailurePropagatesImmediately() {
+        NoSuchSessionException gone = new NoSuchSessionException("gone");
+        FailingStep step = new FailingStep(gone);
+        assertSame(gone, assertThrows(NoSuchSessionException.class,
+                () -> policy.run("retryTests.fatal", step, failure -> fail("No retry expected"))));
+        assertEquals(1, step.attempts.get());
+        assertEquals(0, Timings.getRetries("retryTests.fatal", "failedAfterRetry"));
+    }
+
+    @Test
+    @DisplayName("Kinds missing from retryOn are not retried")
+    public void onlyConfiguredKindsAreRetried() {
+        StepRetryPolicy staleOnly = new StepRetryPolicy(3, 1, 0, 0, EnumSet.of(Failure.STALE));
+        FailingStep step = new FailingStep(new ElementClickInterceptedException("overlay"));
+        assertThrows(ElementClickInterceptedException.class,
+                () -> staleOnly.run("retryTests.notConfigured", step, failure -> { }));
+        assertEquals(1, step.attempts.get());
+    }
+
+    @Test
+    @DisplayName("maxAttempts of 1 disables retries")
+    public void singleAttemptDisablesRetries() {
+        StepRetryPolicy noRetries = new StepRetryPolicy(1, 1, 0, 0, EnumSet.allOf(Failure.class));
+        FailingStep step = new FailingStep(new StaleElementReferenceException("stale"));
+        assertThrows(StaleElementReferenceException.class,
+                () -> noRetries.run("retryTests.disabled", step, failure -> { }));
+        assertEquals(1, step.attempts.get());
+    }
+
+    @Test
+    @DisplayName("The backoff doubles per attempt up to the maximum")
+    public void backoffDoublesUpToMaximum() {
+        StepRetryPolicy backoff = new StepRetryPolicy(10, 1, 100, 1000, EnumSet.allOf(Failure.class));
+        assertEquals(100, backoff.backoffFor(1));
+        assertEquals(200, backoff.backoffFor(2));
+        assertEquals(400, backoff.backoffFor(3));
+        assertEquals(800, backoff.backoffFor(4));
+        assertEquals(1000, backoff.backoffFor(5));
+        assertEquals(1000, backoff.backoffFor(100), "No overflow for large attempt numbers");
+    }
+
+    /**
+     * Throws the given exceptions on consecutive attempts, then returns "done"
+     */
+    private static class FailingStep implements Supplier<String> {
+        private final RuntimeException[] failures;
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        FailingStep(RuntimeException... failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public String get() {
+            int attempt = attempts.getAndIncrement();
+            if (attempt < failures.length) {
+                throw failures[attempt];
+            }
+            return "done";
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.saucedemo.scheduling;
+
+import com.saucedemo.config.BrowserConfig;
+import com.saucedemo.config.DriverManager;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * DriverWarmupListener starts {@code driver.warmup} browsers as soon as the JUnit
+ * launcher session opens, so they launch while tests are being discovered and the
+ * first tests borrow a ready driver. The pool is created on a background thread,
+ * so discovery is never held up. Registered through
+ * META-INF/services/org.junit.platform.launcher.LauncherSessionListener.
+ */
+public class DriverWarmupListener implements LauncherSessionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverWarmupListener.class);
+
+    @Override
+    public void launcherSessionOpened(LauncherSession session) {
+        int count = BrowserConfig.getInt("driver.warmup", 0);
+        if (count <= 0) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                DriverManager.warmUp(count);
+            } catch (RuntimeException e) {
+                logger.warn("Driver warm-up failed, tests will start drivers on demand: {}", e.getMessage());
+            }
+        }, "driver-warmup-start");
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
@@ -0,0 +1,220 @@
+package com.saucedemo.scheduling;
+
+import com.saucedemo.config.BrowserConfig;
+import com.saucedemo.metrics.TestHistory;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * ForkBinFilter splits the discovered test classes across {@code fork.count} JVMs
+ * (CI agents or separate Maven invocations) so that every fork gets about the same
+ * amount of work; this JVM keeps the classes of bin {@code fork.index}. Every fork
+ * has to compute the same bins, so durations are read from a pinned snapshot of the
+ * {@link TestHistory} ({@code fork.history.file}) that nothing writes during the run:
+ * classes are assigned longest first to the fork with the least work so far. Without
+ * a snapshot, classes are split by a hash of their name, which needs no shared state.
+ * Registered through META-INF/services/org.junit.platform.launcher.PostDiscoveryFilter.
+ */
+public class ForkBinFilter implements PostDiscoveryFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForkBinFilter.class);
+
+    private final int forkIndex;
+    private final int forkCount;
+    private final Path historyFile;
+    private final Map<TestDescriptor, Set<String>> assignments = new IdentityHashMap<>();
+
+    /**
+     * Constructor, reading {@code fork.index}, {@code fork.count} and {@code fork.history.file}
+     */
+    public ForkBinFilter() {
+        this(BrowserConfig.getInt("fork.index", 0), BrowserConfig.getInt("fork.count", 1),
+                historySnapshot(BrowserConfig.get("fork.history.file", "")));
+    }
+
+    /**
+     * Constructor, splitting by class name hash
+     *
+     * @param forkIndex bin this JVM runs
+     * @param forkCount total number of bins
+     */
+    public ForkBinFilter(int forkIndex, int forkCount) {
+        this(forkIndex, forkCount, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param forkIndex   bin this JVM runs
+     * @param forkCount   total number of bins
+     * @param historyFile pinned history snapshot shared by all forks, null to split by class name hash
+     */
+    public ForkBinFilter(int forkIndex, int forkCount, Path historyFile) {
+        if (forkCount < 1 || forkIndex < 0 || forkIndex >= forkCount) {
+            throw new IllegalStateException("Invalid fork " + forkIndex + " of " + forkCount
+                    + "; fork.index must be between 0 and fork.count - 1");
+        }
+        Path liveHistory = Paths.get(BrowserConfig.get("test.history.file", "performance/test-history.properties"));
+        if (historyFile != null
+                && historyFile.toAbsolutePath().normalize().equals(liveHistory.toAbsolutePath().normalize())) {
+            throw new IllegalStateException("fork.history.file must be a copy of " + historyFile
+                    + ": the live test history is rewritten when a fork ends, so forks would disagree on the bins");
+        }
+        this.forkIndex = forkIndex;
+        this.forkCount = forkCount;
+        this.historyFile = historyFile;
+    }
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (forkCount == 1) {
+            return FilterResult.included("single fork");
+        }
+        Optional<TestDescriptor> parent = descriptor.getParent();
+        Optional<TestSource> source = descriptor.getSource();
+        if (!parent.isPresent() || !parent.get().isRoot()
+                || !source.isPresent() || !(source.get() instanceof ClassSource)) {
+            // Only top-level classes are distributed; their members follow them
+            return FilterResult.included("not a top-level class");
+        }
+        String className = ((ClassSource) source.get()).getClassName();
+        if (assignmentOf(parent.get()).contains(className)) {
+            return FilterResult.included("fork bin " + forkIndex + " of " + forkCount);
+        }
+        return FilterResult.excluded("assigned to another fork bin");
+    }
+
+    private synchronized Set<String> assignmentOf(TestDescriptor engine) {
+        return assignments.computeIfAbsent(engine, this::assign);
+    }
+
+    private Set<String> assign(TestDescriptor engine) {
+        List<String> classNames = new ArrayList<>();
+        for (TestDescriptor child : engine.getChildren()) {
+            Optional<TestSource> source = child.getSource();
+            if (source.isPresent() && source.get() instanceof ClassSource) {
+                classNames.add(((ClassSource) source.get()).getClassName());
+            }
+        }
+        if (historyFile == null) {
+            Set<String> assigned = hashBinsOf(classNames, forkCount).get(forkIndex);
+            logger.info("Fork {} of {} runs {} of {} test class(es), split by name (no fork.history.file)",
+                    forkIndex, forkCount, assigned.size(), classNames.size());
+            return assigned;
+        }
+        if (!Files.isRegularFile(historyFile)) {
+            throw new IllegalStateException("fork.history.file " + historyFile + " does not exist");
+        }
+        // Read once and never saved, so every fork sees the same durations
+        TestHistory history = new TestHistory(historyFile);
+        Map<String, Long> estimates = new HashMap<>();
+        for (TestDescriptor child : engine.getChildren()) {
+            Optional<TestSource> source = child.getSource();
+            if (source.isPresent() && source.get() instanceof ClassSource) {
+                estimates.merge(((ClassSource) source.get()).getClassName(), estimate(child, history), Long::sum);
+            }
+        }
+        Set<String> assigned = binsOf(estimates, forkCount).get(forkIndex);
+        long total = estimates.values().stream().mapToLong(Long::longValue).sum();
+        long own = assigned.stream().mapToLong(estimates::get).sum();
+        logger.info("Fork {} of {} runs {} of {} test class(es), about {} ms of {} ms in total",
+                forkIndex, forkCount, assigned.size(), estimates.size(), own, total);
+        return assigned;
+    }
+
+    /**
+     * Assign classes by a hash of their name, which every fork computes alike without shared state
+     *
+     * @param classNames class names
+     * @param forkCount  number of bins
+     * @return class names of each bin, indexed by fork
+     */
+    static List<Set<String>> hashBinsOf(Collection<String> classNames, int forkCount) {
+        List<Set<String>> bins = new ArrayList<>();
+        for (int i = 0; i < forkCount; i++) {
+            bins.add(new HashSet<>());
+        }
+        for (String className : classNames) {
+            bins.get(Math.floorMod(className.hashCode(), forkCount)).add(className);
+        }
+        return bins;
+    }
+
+    private static Path historySnapshot(String file) {
+        return file.isEmpty() ? null : Paths.get(file);
+    }
+
+    /**
+     * Assign classes longest first to the bin with the least work so far. Ties are broken
+     * by class name, so the result does not depend on the discovery order.
+     *
+     * @param estimates estimated milliseconds per class name
+     * @param forkCount number of bins
+     * @return class names of each bin, indexed by fork
+     */
+    static List<Set<String>> binsOf(Map<String, Long> estimates, int forkCount) {
+        List<ClassEstimate> classes = new ArrayList<>();
+        estimates.forEach((className, millis) -> classes.add(new ClassEstimate(className, millis)));
+        classes.sort(Comparator.comparingLong((ClassEstimate estimate) -> -estimate.millis)
+                .thenComparing(estimate -> estimate.className));
+
+        long[] load = new long[forkCount];
+        List<Set<String>> bins = new ArrayList<>();
+        for (int i = 0; i < forkCount; i++) {
+            bins.add(new HashSet<>());
+        }
+        for (ClassEstimate estimate : classes) {
+            int bin = 0;
+            for (int i = 1; i < forkCount; i++) {
+                if (load[i] < load[bin]) {
+                    bin = i;
+                }
+            }
+            load[bin] += estimate.millis;
+            bins.get(bin).add(estimate.className);
+        }
+        return bins;
+    }
+
+    private static long estimate(TestDescriptor testClass, TestHistory history) {
+        long millis = 0;
+        for (TestDescriptor descendant : testClass.getDescendants()) {
+            Optional<TestSource> source = descendant.getSource();
+            if (source.isPresent() && source.get() instanceof MethodSource) {
+                MethodSource method = (MethodSource) source.get();
+                millis += history.estimateMillis(TestHistory.key(method.getClassName(), method.getMethodName()));
+            }
+        }
+        return millis;
+    }
+
+    private static final class ClassEstimate {
+        private final String className;
+        private final long millis;
+
+        private ClassEstimate(String className, long millis) {
+            this.className = className;
+            this.millis = millis;
+        }
+    }
+}
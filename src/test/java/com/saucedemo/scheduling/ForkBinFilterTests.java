@@ -0,0 +1,128 @@
+package com.saucedemo.scheduling;
+
+import com.saucedemo.config.BrowserConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ForkBinFilterTests checks the assignment of test classes to fork bins without
+ * running a launcher: every class lands in exactly one bin, every fork computes the
+ * same bins, the bins carry about the same amount of work, and the live history
+ * file is never used for binning.
+ */
+@DisplayName("Fork Bin Filter")
+public class ForkBinFilterTests {
+
+    @Test
+    @DisplayName("Every class lands in exactly one bin")
+    public void everyClassInExactlyOneBin() {
+        Map<String, Long> estimates = history();
+        for (int forkCount = 1; forkCount <= estimates.size() + 1; forkCount++) {
+            List<Set<String>> bins = ForkBinFilter.binsOf(estimates, forkCount);
+            assertEquals(forkCount, bins.size());
+            List<String> assigned = new ArrayList<>();
+            bins.forEach(assigned::addAll);
+            Collections.sort(assigned);
+            List<String> expected = new ArrayList<>(estimates.keySet());
+            Collections.sort(expected);
+            assertEquals(expected, assigned, "Every class once with " + forkCount + " fork(s)");
+        }
+    }
+
+    @Test
+    @DisplayName("Every fork computes the same bins regardless of discovery order")
+    public void binsAreStableAcrossForks() {
+        Map<String, Long> estimates = history();
+        List<Set<String>> expected = ForkBinFilter.binsOf(estimates, 3);
+
+        List<String> reversed = new ArrayList<>(estimates.keySet());
+        Collections.reverse(reversed);
+        Map<String, Long> otherOrder = new LinkedHashMap<>();
+        reversed.forEach(className -> otherOrder.put(className, estimates.get(className)));
+        assertEquals(expected, ForkBinFilter.binsOf(otherOrder, 3), "Discovery order does not matter");
+        assertEquals(expected, ForkBinFilter.binsOf(estimates, 3), "Repeated assignment is identical");
+    }
+
+    @Test
+    @DisplayName("Classes with equal estimates are split by name")
+    public void tiesAreBrokenByName() {
+        Map<String, Long> estimates = new LinkedHashMap<>();
+        estimates.put("com.example.DTests", 100L);
+        estimates.put("com.example.ATests", 100L);
+        estimates.put("com.example.CTests", 100L);
+        estimates.put("com.example.BTests", 100L);
+        List<Set<String>> bins = ForkBinFilter.binsOf(estimates, 2);
+        assertEquals(new HashSet<>(List.of("com.example.ATests", "com.example.CTests")), bins.get(0));
+        assertEquals(new HashSet<>(List.of("com.example.BTests", "com.example.DTests")), bins.get(1));
+    }
+
+    @Test
+    @DisplayName("Bins carry about the same amount of work")
+    public void binsAreBalanced() {
+        Map<String, Long> estimates = history();
+        List<Set<String>> bins = ForkBinFilter.binsOf(estimates, 2);
+        long first = bins.get(0).stream().mapToLong(estimates::get).sum();
+        long second = bins.get(1).stream().mapToLong(estimates::get).sum();
+        long longest = Collections.max(estimates.values());
+        assertTrue(Math.abs(first - second) <= longest,
+                "Bins differ by at most the longest class: " + first + " vs " + second);
+    }
+
+    @Test
+    @DisplayName("Without a history snapshot every fork splits by name alike")
+    public void hashBinsCoverEveryClassOnce() {
+        List<String> classNames = new ArrayList<>(history().keySet());
+        List<Set<String>> bins = ForkBinFilter.hashBinsOf(classNames, 3);
+        List<String> assigned = new ArrayList<>();
+        bins.forEach(assigned::addAll);
+        Collections.sort(assigned);
+        List<String> expected = new ArrayList<>(classNames);
+        Collections.sort(expected);
+        assertEquals(expected, assigned, "Every class once");
+
+        Collections.reverse(classNames);
+        assertEquals(bins, ForkBinFilter.hashBinsOf(classNames, 3), "Discovery order does not matter");
+    }
+
+    @Test
+    @DisplayName("The live history file cannot be used as the pinned snapshot")
+    public void rejectsLiveHistoryAsSnapshot() {
+        Path live = Paths.get(BrowserConfig.get("test.history.file", "performance/test-history.properties"));
+        assertThrows(IllegalStateException.class, () -> new ForkBinFilter(0, 2, live));
+        assertThrows(IllegalStateException.class, () -> new ForkBinFilter(0, 2, live.toAbsolutePath()));
+        new ForkBinFilter(0, 2, Paths.get("target", "fork-history.properties"));
+    }
+
+    @Test
+    @DisplayName("An invalid fork is rejected")
+    public void rejectsInvalidFork() {
+        assertThrows(IllegalStateException.class, () -> new ForkBinFilter(2, 2));
+        assertThrows(IllegalStateException.class, () -> new ForkBinFilter(-1, 2));
+        assertThrows(IllegalStateException.class, () -> new ForkBinFilter(0, 0));
+    }
+
+    private static Map<String, Long> history() {
+        Map<String, Long> estimates = new LinkedHashMap<>();
+        estimates.put("com.saucedemo.LoginTests", 42_000L);
+        estimates.put("com.saucedemo.LoginMatrixTests", 18_000L);
+        estimates.put("com.saucedemo.LoginLoadTests", 30_000L);
+        estimates.put("com.saucedemo.LoginBenchmarkTests", 12_000L);
+        estimates.put("com.saucedemo.DriverModeBenchmarkTests", 9_000L);
+        estimates.put("com.saucedemo.config.DriverPoolTests", 1_500L);
+        estimates.put("com.saucedemo.metrics.TimingsTests", 200L);
+        estimates.put("com.saucedemo.metrics.LatencyHistogramTests", 200L);
+        return estimates;
+    }
+}
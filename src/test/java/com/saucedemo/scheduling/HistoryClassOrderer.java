@@ -0,0 +1,30 @@
+package com.saucedemo.scheduling;
+
+import com.saucedemo.metrics.TestHistory;
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+
+import java.util.Comparator;
+
+/**
+ * HistoryClassOrderer runs test classes with a failure in their last run first,
+ * then the rest by their total duration, longest first, based on the {@link TestHistory}.
+ * Set as the default class orderer in junit-platform.properties.
+ */
+public class HistoryClassOrderer implements ClassOrderer {
+
+    @Override
+    public void orderClasses(ClassOrdererContext context) {
+        TestHistory history = TestHistory.shared();
+        Comparator<ClassDescriptor> order = Comparator
+                .comparing((ClassDescriptor descriptor) -> !history.hasFailedClass(name(descriptor)))
+                .thenComparing(descriptor -> -history.estimateClassMillis(name(descriptor)))
+                .thenComparing(HistoryClassOrderer::name);
+        context.getClassDescriptors().sort(order);
+    }
+
+    private static String name(ClassDescriptor descriptor) {
+        return descriptor.getTestClass().getName();
+    }
+}
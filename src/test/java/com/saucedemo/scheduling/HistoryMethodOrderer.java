@@ -0,0 +1,34 @@
+package com.saucedemo.scheduling;
+
+import com.saucedemo.metrics.TestHistory;
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+
+import java.util.Comparator;
+
+/**
+ * HistoryMethodOrderer runs the test methods of a class that failed last time first,
+ * then the rest longest first, based on the {@link TestHistory}. Failures surface
+ * early, and with concurrent execution the long tests are submitted before the short
+ * ones fill the remaining workers. Ties and unknown tests keep a stable name order.
+ * Set as the default method orderer in junit-platform.properties; a class can still
+ * choose its own with {@code @TestMethodOrder}.
+ */
+public class HistoryMethodOrderer implements MethodOrderer {
+
+    @Override
+    public void orderMethods(MethodOrdererContext context) {
+        TestHistory history = TestHistory.shared();
+        String className = context.getTestClass().getName();
+        Comparator<MethodDescriptor> order = Comparator
+                .comparing((MethodDescriptor method) -> !history.hasFailed(key(className, method)))
+                .thenComparing(method -> -history.estimateMillis(key(className, method)))
+                .thenComparing(method -> method.getMethod().getName());
+        context.getMethodDescriptors().sort(order);
+    }
+
+    private static String key(String className, MethodDescriptor method) {
+        return TestHistory.key(className, method.getMethod().getName());
+    }
+}
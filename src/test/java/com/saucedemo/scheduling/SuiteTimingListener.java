@@ -0,0 +1,54 @@
+package com.saucedemo.scheduling;
+
+import com.saucedemo.metrics.Timings;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SuiteTimingListener reports how long the run took until the first test started,
+ * counted from JVM start, and the total suite time. Both are logged and added to the
+ * run report as {@code suite.timeToFirstTest} and {@code suite.total}. Registered through
+ * META-INF/services/org.junit.platform.launcher.TestExecutionListener.
+ */
+public class SuiteTimingListener implements TestExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuiteTimingListener.class);
+
+    private final AtomicLong firstTestAt = new AtomicLong();
+    private volatile long planStartedAt;
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        planStartedAt = System.currentTimeMillis();
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        if (testIdentifier.isTest()) {
+            firstTestAt.compareAndSet(0, System.currentTimeMillis());
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        long jvmStartedAt = ManagementFactory.getRuntimeMXBean().getStartTime();
+        long finishedAt = System.currentTimeMillis();
+        long totalMillis = finishedAt - jvmStartedAt;
+        Timings.recordMillis("suite.total", totalMillis);
+        if (firstTestAt.get() == 0) {
+            logger.info("Suite finished in {} ms without running a test", totalMillis);
+            return;
+        }
+        long timeToFirstTest = firstTestAt.get() - jvmStartedAt;
+        Timings.recordMillis("suite.timeToFirstTest", timeToFirstTest);
+        logger.info("Suite finished in {} ms; first test started {} ms after JVM start "
+                        + "({} ms after test execution began)",
+                totalMillis, timeToFirstTest, firstTestAt.get() - planStartedAt);
+    }
+}